@@ -0,0 +1,70 @@
+package org.bindgen.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bindgen.BindingRoot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Evaluates a {@code child()...name()} binding over a column of {@code rows} roots, either
+ * one {@code getWithRoot} per row or one {@code getAllWithRoots} for the whole column.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColumnBenchmark {
+
+	@Param( { "1", "4", "8" })
+	public int depth;
+
+	@Param( { "10000" })
+	public int rows;
+
+	private List<Node> roots;
+	private BindingRoot<Node, String> leaf;
+	private String[] out;
+
+	@Setup
+	public void setup() {
+		this.roots = new ArrayList<Node>();
+		for (int i = 0; i < this.rows; i++) {
+			this.roots.add(Node.chain(this.depth));
+		}
+		NodeBindingPath<Node> parent = NodeBinding.PATHS;
+		for (int i = 1; i < this.depth; i++) {
+			parent = parent.child();
+		}
+		this.leaf = parent.name();
+		this.out = new String[this.rows];
+	}
+
+	@Benchmark
+	public String[] getWithRootLoop() {
+		for (int i = 0; i < this.rows; i++) {
+			this.out[i] = this.leaf.getWithRoot(this.roots.get(i));
+		}
+		return this.out;
+	}
+
+	@Benchmark
+	public String[] getAllWithRoots() {
+		this.leaf.getAllWithRoots(this.roots, this.out);
+		return this.out;
+	}
+
+}
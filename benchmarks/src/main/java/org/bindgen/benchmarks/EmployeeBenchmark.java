@@ -0,0 +1,91 @@
+package org.bindgen.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.bindgen.Binding;
+import org.bindgen.BindingRoot;
+import org.bindgen.binding.BindingPathResolver;
+import org.bindgen.example.employee.Employee;
+import org.bindgen.example.employee.EmployeeBinding;
+import org.bindgen.example.employee.Employer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The "new binding", "existing binding" and "stateless binding" cases from
+ * {@code docs/performance.md}, evaluating {@code employer.name} on an {@link Employee}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeeBenchmark {
+
+	private Employee employee;
+	private EmployeeBinding existing;
+	private Binding<String> existingName;
+	private BindingRoot<Employee, String> statelessName;
+	private BindingRoot<Employee, String> flatName;
+	private BindingPathResolver<Employee> resolver;
+
+	@Setup
+	public void setup() {
+		Employer employer = new Employer();
+		employer.name = "at&t";
+		this.employee = new Employee("bob");
+		this.employee.employer = employer;
+
+		this.existing = new EmployeeBinding();
+		this.existingName = this.existing.employer().name();
+		this.statelessName = new EmployeeBinding().employer().name();
+		this.flatName = EmployeeBinding.PATHS.flatEmployerName();
+		this.resolver = new BindingPathResolver<Employee>(new EmployeeBinding());
+	}
+
+	@Benchmark
+	public String newBinding() {
+		return new EmployeeBinding(this.employee).employer().name().get();
+	}
+
+	@Benchmark
+	public String existingBinding() {
+		this.existing.set(this.employee);
+		return this.existingName.get();
+	}
+
+	@Benchmark
+	public String statelessBinding() {
+		return this.statelessName.getWithRoot(this.employee);
+	}
+
+	@Benchmark
+	public String statelessSafely() {
+		return this.statelessName.getSafelyWithRoot(this.employee);
+	}
+
+	@Benchmark
+	public String flatBinding() {
+		return this.flatName.getWithRoot(this.employee);
+	}
+
+	@Benchmark
+	public Object resolvedPath() {
+		return this.resolver.getWithRoot(this.employee, "employer.name");
+	}
+
+	@Benchmark
+	public void statelessSet() {
+		this.statelessName.setWithRoot(this.employee, "at&t");
+	}
+
+}
@@ -0,0 +1,68 @@
+package org.bindgen.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.bindgen.binding.BindingMapper;
+import org.bindgen.example.employee.Employee;
+import org.bindgen.example.employee.EmployeeBinding;
+import org.bindgen.example.employee.EmployeeSummary;
+import org.bindgen.example.employee.EmployeeSummaryBinding;
+import org.bindgen.example.employee.Employer;
+import org.bindgen.example.employee.EmployerSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Copies an {@link Employee} to an {@link EmployeeSummary} with a {@link BindingMapper} and by hand. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+	private Employee employee;
+	private EmployeeSummary summary;
+	private BindingMapper<Employee, EmployeeSummary> mapper;
+
+	@Setup
+	public void setup() {
+		this.employee = new Employee("bob");
+		this.employee.department = "accounting";
+		this.employee.employer = new Employer();
+		this.employee.employer.name = "at&t";
+		this.summary = new EmployeeSummary();
+		this.summary.setEmployer(new EmployerSummary());
+		this.mapper = new BindingMapper<Employee, EmployeeSummary>()//
+			.addMatching(EmployeeBinding.PATHS, EmployeeSummaryBinding.PATHS)
+			.add(EmployeeBinding.PATHS.employer().name(), EmployeeSummaryBinding.PATHS.employerName());
+	}
+
+	@Benchmark
+	public EmployeeSummary mapper() {
+		this.mapper.map(this.employee, this.summary);
+		return this.summary;
+	}
+
+	@Benchmark
+	public EmployeeSummary byHand() {
+		this.summary.setName(this.employee.name);
+		this.summary.setDepartment(this.employee.department);
+		if (this.employee.employer != null && this.summary.getEmployer() != null) {
+			this.summary.getEmployer().name = this.employee.employer.name;
+		}
+		if (this.employee.employer != null) {
+			this.summary.setEmployerName(this.employee.employer.name);
+		}
+		return this.summary;
+	}
+
+}
@@ -0,0 +1,60 @@
+package org.bindgen.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.bindgen.BindingRoot;
+import org.bindgen.example.methods.MethodExample;
+import org.bindgen.example.methods.MethodExampleBinding;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Stateless get/set through the getter/setter-based bindings of {@link MethodExample}, including a boxed primitive. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MethodExampleBenchmark {
+
+	private MethodExample example;
+	private BindingRoot<MethodExample, String> name;
+	private BindingRoot<MethodExample, Boolean> good;
+
+	@Setup
+	public void setup() {
+		this.example = new MethodExample("1", "fred");
+		MethodExampleBinding b = new MethodExampleBinding();
+		this.name = b.name();
+		this.good = b.good();
+	}
+
+	@Benchmark
+	public String getName() {
+		return this.name.getWithRoot(this.example);
+	}
+
+	@Benchmark
+	public void setName() {
+		this.name.setWithRoot(this.example, "fred");
+	}
+
+	@Benchmark
+	public Boolean getGood() {
+		return this.good.getWithRoot(this.example);
+	}
+
+	@Benchmark
+	public void setGood() {
+		this.good.setWithRoot(this.example, Boolean.TRUE);
+	}
+
+}
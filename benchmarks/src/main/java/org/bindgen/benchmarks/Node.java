@@ -0,0 +1,27 @@
+package org.bindgen.benchmarks;
+
+import org.bindgen.Bindable;
+
+/** A self-referencing type so benchmarks can build binding paths of any depth, e.g. {@code child().child().name()}. */
+@Bindable
+public class Node {
+
+	public Node child;
+	public String name;
+	public long size;
+
+	public Node(String name, Node child) {
+		this.name = name;
+		this.child = child;
+	}
+
+	/** @return a chain of {@code depth} nodes, each named after its depth */
+	public static Node chain(int depth) {
+		Node node = null;
+		for (int i = depth; i > 0; i--) {
+			node = new Node("node" + i, node);
+		}
+		return node;
+	}
+
+}
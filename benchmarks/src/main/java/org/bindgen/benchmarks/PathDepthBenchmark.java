@@ -0,0 +1,89 @@
+package org.bindgen.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bindgen.Binding;
+import org.bindgen.BindingRoot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures each {@link Binding} operation against a {@code name} leaf at the end of
+ * a {@code child().child()...} path, so regressions in how the generated inner
+ * classes walk their parents show up as a function of depth.
+ *
+ * A depth of 1 is {@code nb.name()}, a depth of 3 is {@code nb.child().child().name()}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathDepthBenchmark {
+
+	@Param( { "1", "2", "3", "4", "5", "6", "7", "8" })
+	public int depth;
+
+	private Node root;
+	private NodeBinding rootBinding;
+	private NodeBindingPath<Node> parent;
+	private BindingRoot<Node, String> leaf;
+
+	@Setup
+	public void setup() {
+		this.root = Node.chain(this.depth);
+		this.rootBinding = new NodeBinding(this.root);
+		this.parent = this.rootBinding;
+		for (int i = 1; i < this.depth; i++) {
+			this.parent = this.parent.child();
+		}
+		this.leaf = this.parent.name();
+	}
+
+	@Benchmark
+	public String get() {
+		return this.leaf.get();
+	}
+
+	@Benchmark
+	public void set() {
+		this.leaf.set("name");
+	}
+
+	@Benchmark
+	public String getWithRoot() {
+		return this.leaf.getWithRoot(this.root);
+	}
+
+	@Benchmark
+	public void setWithRoot() {
+		this.leaf.setWithRoot(this.root, "name");
+	}
+
+	@Benchmark
+	public String getSafely() {
+		return this.leaf.getSafely();
+	}
+
+	@Benchmark
+	public String getPath() {
+		return this.leaf.getPath();
+	}
+
+	@Benchmark
+	public List<Binding<?>> getChildBindings() {
+		return this.parent.getChildBindings();
+	}
+
+}
@@ -0,0 +1,61 @@
+package org.bindgen.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.bindgen.LongBinding;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the boxed {@code getWithRoot}/{@code setWithRoot} of a {@code long} property against
+ * its unboxed {@link LongBinding} methods, using values outside of the {@code Long} cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveBenchmark {
+
+	private Node node;
+	private LongBinding<Node> size;
+	private long value = 1000;
+
+	@Setup
+	public void setup() {
+		this.node = Node.chain(1);
+		this.size = NodeBinding.PATHS.size();
+	}
+
+	@Benchmark
+	public long getBoxed() {
+		this.node.size = this.value++;
+		return this.size.getWithRoot(this.node);
+	}
+
+	@Benchmark
+	public long getUnboxed() {
+		this.node.size = this.value++;
+		return this.size.getLongWithRoot(this.node);
+	}
+
+	@Benchmark
+	public void setBoxed() {
+		this.size.setWithRoot(this.node, this.value++);
+	}
+
+	@Benchmark
+	public void setUnboxed() {
+		this.size.setLongWithRoot(this.node, this.value++);
+	}
+
+}
@@ -0,0 +1,87 @@
+package org.bindgen.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.bindgen.BindingRoot;
+import org.bindgen.runtime.ColumnProjector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Projects the {@code name}, {@code size} and {@code child.size} of {@code rows} nodes into boxed
+ * {@code Object[][]} rows with {@code getWithRoot}, or into columns with a {@link ColumnProjector}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectorBenchmark {
+
+	@Param( { "100000" })
+	public int rows;
+
+	private List<Node> roots;
+	private List<BindingRoot<Node, ?>> columns;
+	private ColumnProjector<Node> projector;
+	private ExecutorService executor;
+
+	@Setup
+	public void setup() {
+		this.roots = new ArrayList<Node>();
+		for (int i = 0; i < this.rows; i++) {
+			Node node = Node.chain(2);
+			node.name = "node" + (i % 100);
+			node.size = i;
+			this.roots.add(node);
+		}
+		this.columns = new ArrayList<BindingRoot<Node, ?>>();
+		this.columns.add(NodeBinding.PATHS.name());
+		this.columns.add(NodeBinding.PATHS.size());
+		this.columns.add(NodeBinding.PATHS.child().size());
+		this.projector = new ColumnProjector<Node>(this.columns);
+		this.executor = Executors.newFixedThreadPool(4);
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.executor.shutdown();
+	}
+
+	@Benchmark
+	public Object[][] boxedRows() {
+		Object[][] out = new Object[this.rows][this.columns.size()];
+		for (int i = 0; i < this.rows; i++) {
+			for (int c = 0; c < this.columns.size(); c++) {
+				out[i][c] = this.columns.get(c).getWithRoot(this.roots.get(i));
+			}
+		}
+		return out;
+	}
+
+	@Benchmark
+	public ColumnProjector.Columns projector() {
+		return this.projector.project(this.roots);
+	}
+
+	@Benchmark
+	public ColumnProjector.Columns projectorParallel() {
+		return this.projector.project(this.roots, this.executor, 10000);
+	}
+
+}
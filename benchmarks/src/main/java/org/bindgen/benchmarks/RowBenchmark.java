@@ -0,0 +1,71 @@
+package org.bindgen.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bindgen.BindingRoot;
+import org.bindgen.binding.RowEvaluator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Evaluates the {@code name} and {@code size} of each node in a chain of {@code depth}, i.e. columns
+ * sharing their {@code child()...} prefixes, either one {@code getWithRoot} per column or with a {@link RowEvaluator}.
+ *
+ * The prefixes are fields, which {@link RowEvaluator} does not share, so both should be about as fast.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowBenchmark {
+
+	@Param( { "2", "4", "8" })
+	public int depth;
+
+	private Node root;
+	private List<BindingRoot<Node, ?>> columns;
+	private RowEvaluator<Node> row;
+	private Object[] out;
+
+	@Setup
+	public void setup() {
+		this.root = Node.chain(this.depth);
+		this.columns = new ArrayList<BindingRoot<Node, ?>>();
+		NodeBindingPath<Node> parent = NodeBinding.PATHS;
+		for (int i = 0; i < this.depth; i++) {
+			this.columns.add(parent.name());
+			this.columns.add(parent.size());
+			parent = parent.child();
+		}
+		this.row = new RowEvaluator<Node>(this.columns);
+		this.out = new Object[this.columns.size()];
+	}
+
+	@Benchmark
+	public Object[] getWithRootPerColumn() {
+		for (int i = 0; i < this.out.length; i++) {
+			this.out[i] = this.columns.get(i).getWithRoot(this.root);
+		}
+		return this.out;
+	}
+
+	@Benchmark
+	public Object[] rowEvaluator() {
+		this.row.evaluate(this.root, this.out);
+		return this.out;
+	}
+
+}
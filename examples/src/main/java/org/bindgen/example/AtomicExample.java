@@ -0,0 +1,19 @@
+package org.bindgen.example;
+
+import java.util.List;
+
+import org.bindgen.Bindable;
+
+@Bindable
+public class AtomicExample {
+
+	// volatile fields get atomic bindings when atomicBindings=true
+	public volatile int count;
+	public volatile long total;
+	public volatile String state;
+	public volatile List<String> names;
+
+	// a non-volatile field stays a plain binding
+	public int plain;
+
+}
@@ -1,9 +1,13 @@
 package org.bindgen.example.employee;
 
+import java.io.Serializable;
+
 import org.bindgen.Bindable;
 
 @Bindable
-public class Employee {
+public class Employee implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	public Employer employer;
 	public String name;
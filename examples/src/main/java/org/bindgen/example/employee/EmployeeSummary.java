@@ -0,0 +1,45 @@
+package org.bindgen.example.employee;
+
+import org.bindgen.Bindable;
+
+@Bindable
+public class EmployeeSummary {
+
+	private String name;
+	private String department;
+	private String employerName;
+	private EmployerSummary employer;
+
+	public String getName() {
+		return this.name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public String getDepartment() {
+		return this.department;
+	}
+
+	public void setDepartment(String department) {
+		this.department = department;
+	}
+
+	public String getEmployerName() {
+		return this.employerName;
+	}
+
+	public void setEmployerName(String employerName) {
+		this.employerName = employerName;
+	}
+
+	public EmployerSummary getEmployer() {
+		return this.employer;
+	}
+
+	public void setEmployer(EmployerSummary employer) {
+		this.employer = employer;
+	}
+
+}
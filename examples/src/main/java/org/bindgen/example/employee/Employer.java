@@ -1,11 +1,14 @@
 package org.bindgen.example.employee;
 
+import java.io.Serializable;
 import java.util.List;
 
 import org.bindgen.Bindable;
 
 @Bindable
-public class Employer {
+public class Employer implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	public String name;
 	public List<Employee> employees;
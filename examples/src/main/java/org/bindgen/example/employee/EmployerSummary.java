@@ -0,0 +1,10 @@
+package org.bindgen.example.employee;
+
+import org.bindgen.Bindable;
+
+@Bindable
+public class EmployerSummary {
+
+	public String name;
+
+}
@@ -0,0 +1,44 @@
+package org.bindgen.example.methods;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bindgen.Bindable;
+
+@Bindable
+public class MemoizeExample {
+
+	// counts the calls to the derived methods below
+	public int calls;
+	// volatile, so it gets an atomic binding whose writes also move the epoch on
+	public volatile String name = "a";
+
+	// a memoized no-arg method
+	public String label() {
+		this.calls++;
+		return "label " + this.name;
+	}
+
+	// a memoized primitive no-arg method
+	public int length() {
+		this.calls++;
+		return this.name.length();
+	}
+
+	// a memoized getter, configured by its property name
+	public List<String> getLetters() {
+		this.calls++;
+		List<String> letters = new ArrayList<String>();
+		for (char c : this.name.toCharArray()) {
+			letters.add(String.valueOf(c));
+		}
+		return letters;
+	}
+
+	// not memoized
+	public String upper() {
+		this.calls++;
+		return this.name.toUpperCase();
+	}
+
+}
@@ -0,0 +1,79 @@
+package org.bindgen.example;
+
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+import org.bindgen.AtomicBinding;
+import org.bindgen.AtomicIntBinding;
+import org.bindgen.AtomicLongBinding;
+
+public class AtomicExampleTest extends TestCase {
+
+	public void testCompareAndSet() {
+		AtomicExample e = new AtomicExample();
+		AtomicExampleBinding b = new AtomicExampleBinding(e);
+		b.state().set("a");
+
+		Assert.assertFalse(b.state().compareAndSet("b", "c"));
+		Assert.assertEquals("a", e.state);
+		Assert.assertTrue(b.state().compareAndSet(e.state, "c"));
+		Assert.assertEquals("c", e.state);
+	}
+
+	public void testIntWithoutBoxing() {
+		AtomicExample e = new AtomicExample();
+		AtomicExampleBinding b = new AtomicExampleBinding(e);
+
+		Assert.assertEquals(0, b.count().getAndAddInt(2));
+		Assert.assertEquals(2, b.count().getAndAddInt(3));
+		Assert.assertEquals(5, e.count);
+		Assert.assertFalse(b.count().compareAndSetInt(4, 6));
+		Assert.assertTrue(b.count().compareAndSetInt(5, 6));
+		Assert.assertEquals(6, e.count);
+		Assert.assertEquals(Integer.valueOf(6), b.count().getAndSet(7));
+		Assert.assertEquals(7, e.count);
+	}
+
+	public void testLongWithRoot() {
+		AtomicExample e = new AtomicExample();
+		AtomicLongBinding<AtomicExample> total = AtomicExampleBinding.PATHS.total();
+
+		Assert.assertEquals(0L, total.getAndAddLongWithRoot(e, 10L));
+		Assert.assertTrue(total.compareAndSetLongWithRoot(e, 10L, 20L));
+		Assert.assertEquals(20L, e.total);
+	}
+
+	public void testGetAndUpdate() {
+		AtomicExample e = new AtomicExample();
+		e.names = Arrays.asList("a");
+		AtomicBinding<AtomicExample, List<String>> names = AtomicExampleBinding.PATHS.names();
+
+		List<String> old = names.getAndUpdateWithRoot(e, new AtomicBinding.Update<List<String>>() {
+			public List<String> apply(List<String> value) {
+				return Arrays.asList(value.get(0), "b");
+			}
+		});
+		Assert.assertEquals(Arrays.asList("a"), old);
+		Assert.assertEquals(Arrays.asList("a", "b"), e.names);
+	}
+
+	public void testReleaseAndAcquire() {
+		AtomicExample e = new AtomicExample();
+		AtomicExampleBinding b = new AtomicExampleBinding(e);
+
+		b.state().setRelease("a");
+		Assert.assertEquals("a", b.state().getAcquire());
+		AtomicExampleBinding.PATHS.count().setReleaseWithRoot(e, 3);
+		Assert.assertEquals(Integer.valueOf(3), AtomicExampleBinding.PATHS.count().getAcquireWithRoot(e));
+	}
+
+	public void testOnlyVolatileFieldsAreAtomic() {
+		AtomicExampleBinding b = new AtomicExampleBinding();
+		Assert.assertTrue(b.count() instanceof AtomicIntBinding<?>);
+		Assert.assertFalse(b.plain() instanceof AtomicBinding<?, ?>);
+	}
+
+}
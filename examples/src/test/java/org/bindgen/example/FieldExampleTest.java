@@ -1,11 +1,19 @@
 package org.bindgen.example;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import junit.framework.Assert;
 import junit.framework.TestCase;
 
+import org.bindgen.BindingRoot;
 import org.bindgen.ContainerBinding;
+import org.bindgen.binding.DirtyTracker;
+import org.bindgen.runtime.ColumnProjector;
 
 public class FieldExampleTest extends TestCase {
 
@@ -40,6 +48,18 @@ public class FieldExampleTest extends TestCase {
 		Assert.assertTrue(e.good);
 	}
 
+	public void testPrimitiveUnboxed() {
+		FieldExample e = new FieldExample("name");
+		FieldExampleBinding b = new FieldExampleBinding(e);
+		b.value().setInt(2);
+		Assert.assertEquals(2, e.value);
+		Assert.assertEquals(2, b.value().getInt());
+
+		FieldExample e2 = new FieldExample("name2");
+		FieldExampleBinding.PATHS.good().setBooleanWithRoot(e2, true);
+		Assert.assertTrue(FieldExampleBinding.PATHS.good().getBooleanWithRoot(e2));
+	}
+
 	public void testOneCharge() {
 		FieldExample e = new FieldExample("name");
 		FieldExampleBinding b = new FieldExampleBinding(e);
@@ -47,4 +67,71 @@ public class FieldExampleTest extends TestCase {
 		b.f().set("foo");
 		Assert.assertEquals("foo", e.f);
 	}
+
+	public void testDirtyTracker() {
+		DirtyTracker<FieldExample> tracker = new DirtyTracker<FieldExample>(FieldExampleBinding.PATHS, 1);
+		Assert.assertFalse(tracker.getTrackedBindings().contains(FieldExampleBinding.PATHS.finalField()));
+
+		FieldExample e = new FieldExample("name");
+		DirtyTracker.Snapshot before = tracker.snapshot(e);
+		e.good = true;
+		e.value = 1;
+		e.name = new String("name");
+		Assert.assertEquals(Arrays.asList("good", "value"), tracker.getChangedPaths(before, e));
+	}
+
+	public void testColumnProjector() {
+		List<BindingRoot<FieldExample, ?>> columns = new ArrayList<BindingRoot<FieldExample, ?>>();
+		columns.add(FieldExampleBinding.PATHS.value());
+		columns.add(FieldExampleBinding.PATHS.good());
+		columns.add(FieldExampleBinding.PATHS.name());
+		ColumnProjector<FieldExample> projector = new ColumnProjector<FieldExample>(columns);
+
+		List<FieldExample> rows = new ArrayList<FieldExample>();
+		for (String name : new String[] { "a", "b", null, "a", "c", "b" }) {
+			FieldExample e = new FieldExample(name);
+			e.value = rows.size();
+			e.good = name == null;
+			rows.add(e);
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		ColumnProjector.Columns data = projector.project(rows, executor, 4);
+		try {
+			projector.project(rows, executor, 0);
+			Assert.fail();
+		} catch (IllegalArgumentException iae) {
+			Assert.assertEquals("chunkSize must be positive, but was 0", iae.getMessage());
+		}
+		executor.shutdown();
+
+		Assert.assertEquals(6, data.size());
+		Assert.assertTrue(Arrays.equals(new int[] { 0, 1, 2, 3, 4, 5 }, data.getInts(0)));
+		Assert.assertTrue(Arrays.equals(new boolean[] { false, false, true, false, false, false }, data.getBooleans(1)));
+		Assert.assertTrue(Arrays.equals(new int[] { 0, 1, -1, 0, 2, 1 }, data.getCodes(2)));
+		Assert.assertEquals(Arrays.asList("a", "b", "c"), data.getDictionary(2));
+		Assert.assertTrue(Arrays.equals(data.getCodes(2), projector.project(rows).getCodes(2)));
+
+		ByteBuffer buffer = ByteBuffer.allocateDirect(data.getByteSize());
+		data.writeTo(buffer);
+		Assert.assertEquals(6 * 4 + 6 + 6 * 4, buffer.position());
+		Assert.assertEquals(5, buffer.getInt(5 * 4));
+		Assert.assertEquals(1, buffer.get(6 * 4 + 2));
+		Assert.assertEquals(-1, buffer.getInt(6 * 4 + 6 + 2 * 4));
+	}
+
+	public void testColumnProjectorWritesNothingWithoutABinaryForm() {
+		List<BindingRoot<FieldExample, ?>> columns = new ArrayList<BindingRoot<FieldExample, ?>>();
+		columns.add(FieldExampleBinding.PATHS.value());
+		columns.add(FieldExampleBinding.PATHS.list());
+		ColumnProjector.Columns data = new ColumnProjector<FieldExample>(columns).project(Arrays.asList(new FieldExample("a")));
+
+		ByteBuffer buffer = ByteBuffer.allocate(64);
+		try {
+			data.writeTo(buffer);
+			Assert.fail();
+		} catch (IllegalStateException ise) {
+			Assert.assertEquals("Column 1 (list) has no binary form", ise.getMessage());
+		}
+		Assert.assertEquals(0, buffer.position());
+	}
 }
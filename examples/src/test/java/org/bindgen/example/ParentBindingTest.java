@@ -50,4 +50,9 @@ public class ParentBindingTest extends TestCase {
 		Assert.assertEquals("foo", fcb.foo().getPath());
 		Assert.assertEquals("foo.baz", fcb.foo().baz().getPath());
 	}
+
+	public void testGetPathIsCached() {
+		FooChildBinding fcb = new FooChildBinding();
+		Assert.assertSame(fcb.foo().baz().getPath(), fcb.foo().baz().getPath());
+	}
 }
@@ -1,8 +1,20 @@
 package org.bindgen.example.blocks;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import junit.framework.Assert;
 import junit.framework.TestCase;
 
+import org.bindgen.CallableBinding;
+import org.bindgen.runtime.CallableInvoker;
+
 public class TransactionExampleTest extends TestCase {
 
 	public void testBusinessLogicMethod() throws Exception {
@@ -24,4 +36,88 @@ public class TransactionExampleTest extends TestCase {
 		}
 	}
 
+	public void testBusinessLogicWithRoot() throws Exception {
+		TransactionExample te = new TransactionExample();
+		@SuppressWarnings("unchecked")
+		CallableBinding<TransactionExample, TransactionBlock> binding = (CallableBinding<TransactionExample, TransactionBlock>) TransactionExampleBinding.PATHS.businessLogic();
+		Assert.assertEquals(true, binding.getWithRoot(te).result("good").booleanValue());
+		Assert.assertEquals("businessLogic", binding.getName());
+	}
+
+	public void testInvokeAllCollectsResultsAndExceptionsInOrder() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			CallableInvoker.Invocation<TransactionBlock, Boolean> invocation = new CallableInvoker.Invocation<TransactionBlock, Boolean>() {
+				public Boolean invoke(TransactionBlock block) throws Exception {
+					return block.result("good");
+				}
+			};
+			CallableInvoker<TransactionExample, TransactionBlock> invoker = new CallableInvoker<TransactionExample, TransactionBlock>(
+				TransactionExampleBinding.PATHS.businessLogic(),
+				executor);
+			CallableInvoker.Results<Boolean> results = invoker.invokeAll(Arrays.asList(new TransactionExample(), null), invocation);
+			Assert.assertEquals(Boolean.TRUE, results.getValues().get(0));
+			Assert.assertNull(results.getExceptions().get(0));
+			Assert.assertNull(results.getValues().get(1));
+			Assert.assertTrue(results.getExceptions().get(1) instanceof NullPointerException);
+			Assert.assertEquals(1, results.getFailureCount());
+
+			CallableInvoker<TransactionExample, TransactionBlock> failing = new CallableInvoker<TransactionExample, TransactionBlock>(
+				TransactionExampleBinding.PATHS.businessLogicThatCanFail(),
+				executor);
+			Assert.assertEquals("I failed", failing.invokeAll(Arrays.asList(new TransactionExample()), invocation).getExceptions().get(0).getMessage());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	public void testInvokeAllReportsCancelledInvocations() throws Exception {
+		// runs the first task and cancels the rest, e.g. like an executor being shut down
+		ExecutorService executor = new AbstractExecutorService() {
+			private int submitted;
+
+			public void execute(Runnable command) {
+				if (this.submitted++ == 0) {
+					command.run();
+				} else {
+					((Future<?>) command).cancel(false);
+				}
+			}
+
+			public void shutdown() {
+			}
+
+			public List<Runnable> shutdownNow() {
+				return null;
+			}
+
+			public boolean isShutdown() {
+				return false;
+			}
+
+			public boolean isTerminated() {
+				return false;
+			}
+
+			public boolean awaitTermination(long timeout, TimeUnit unit) {
+				return true;
+			}
+		};
+		CallableInvoker<TransactionExample, TransactionBlock> invoker = new CallableInvoker<TransactionExample, TransactionBlock>(
+			TransactionExampleBinding.PATHS.businessLogic(),
+			executor);
+		CallableInvoker.Results<Boolean> results = invoker.invokeAll(
+			Arrays.asList(new TransactionExample(), new TransactionExample(), new TransactionExample()),
+			new CallableInvoker.Invocation<TransactionBlock, Boolean>() {
+				public Boolean invoke(TransactionBlock block) throws Exception {
+					return block.result("good");
+				}
+			});
+		Assert.assertEquals(Boolean.TRUE, results.getValues().get(0));
+		Assert.assertNull(results.getValues().get(1));
+		Assert.assertTrue(results.getExceptions().get(1) instanceof CancellationException);
+		Assert.assertTrue(results.getExceptions().get(2) instanceof CancellationException);
+		Assert.assertEquals(2, results.getFailureCount());
+	}
+
 }
@@ -1,9 +1,24 @@
 package org.bindgen.example.employee;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import junit.framework.Assert;
 import junit.framework.TestCase;
 
 import org.bindgen.Binding;
+import org.bindgen.BindingVisitor;
+import org.bindgen.BindingRoot;
+import org.bindgen.binding.AbstractBinding;
+import org.bindgen.binding.BindingMapper;
+import org.bindgen.binding.BindingPathResolver;
+import org.bindgen.binding.DirtyTracker;
+import org.bindgen.binding.RowEvaluator;
 
 public class EmployeeTest extends TestCase {
 
@@ -104,6 +119,282 @@ public class EmployeeTest extends TestCase {
 		}
 	}
 
+	public void testEmployerNameSafelyWhenNull() {
+		Employee ee = new Employee("bob");
+		EmployeeBinding eb = new EmployeeBinding(ee);
+
+		Assert.assertNull(eb.employer().name().getSafely());
+		Assert.assertFalse(eb.employer().name().getIsSafe());
+		Assert.assertTrue(eb.employer().getIsSafe());
+
+		Employer er = new Employer();
+		er.name = "at&t";
+		ee.employer = er;
+		Assert.assertEquals("at&t", eb.employer().name().getSafely());
+		Assert.assertTrue(eb.employer().name().getIsSafe());
+
+		eb.set(null);
+		Assert.assertNull(eb.employer().name().getSafely());
+		Assert.assertFalse(eb.employer().getIsSafe());
+	}
+
+	public void testStatelessPaths() {
+		Employer er = new Employer();
+		er.name = "at&t";
+		Employee ee = new Employee("bob");
+		ee.employer = er;
+
+		Assert.assertSame(EmployeeBinding.PATHS.employer().name(), EmployeeBinding.PATHS.employer().name());
+		Assert.assertEquals("at&t", EmployeeBinding.PATHS.employer().name().getWithRoot(ee));
+		EmployeeBinding.PATHS.employer().name().setWithRoot(ee, "newAt&t");
+		Assert.assertEquals("newAt&t", er.name);
+		Assert.assertEquals("employer.name", EmployeeBinding.PATHS.employer().name().getPath());
+
+		try {
+			EmployeeBinding.PATHS.set(ee);
+			Assert.fail();
+		} catch (UnsupportedOperationException uoe) {
+		}
+	}
+
+	public void testSafelyWithRoot() {
+		Employee ee = new Employee();
+		Assert.assertNull(EmployeeBinding.PATHS.employer().name().getSafelyWithRoot(ee));
+		Assert.assertNull(EmployeeBinding.PATHS.flatEmployerName().getSafelyWithRoot(ee));
+		Assert.assertNull(EmployeeBinding.PATHS.employer().name().getSafelyWithRoot(null));
+
+		ee.employer = new Employer();
+		ee.employer.name = "at&t";
+		Assert.assertEquals("at&t", EmployeeBinding.PATHS.employer().name().getSafelyWithRoot(ee));
+		Assert.assertEquals("at&t", EmployeeBinding.PATHS.flatEmployerName().getSafelyWithRoot(ee));
+	}
+
+	public void testSafelyWithRootOfHandWrittenBindings() {
+		AbstractBinding<Employee, String> employerName = new EmployerNameBinding();
+		Assert.assertNull(employerName.getSafelyWithRoot(new Employee()));
+		Assert.assertNull(employerName.getSafelyWithRoot(null));
+
+		Employee ee = new Employee();
+		ee.employer = new Employer();
+		ee.employer.name = "at&t";
+		Assert.assertEquals("at&t", employerName.getSafelyWithRoot(ee));
+	}
+
+	public void testRowEvaluator() {
+		List<BindingRoot<Employee, ?>> columns = new ArrayList<BindingRoot<Employee, ?>>();
+		columns.add(EmployeeBinding.PATHS.employer().name());
+		columns.add(EmployeeBinding.PATHS.name());
+		columns.add(EmployeeBinding.PATHS.employer());
+		columns.add(EmployeeBinding.PATHS.flatEmployerName());
+		columns.add(EmployeeBinding.PATHS);
+		columns.add(new EmployerNameBinding());
+		RowEvaluator<Employee> row = new RowEvaluator<Employee>(columns);
+
+		Employee ee = new Employee("bob");
+		ee.employer = new Employer();
+		ee.employer.name = "at&t";
+		Assert.assertEquals(Arrays.<Object> asList("at&t", "bob", ee.employer, "at&t", ee, "at&t"), Arrays.asList(row.evaluate(ee)));
+
+		ee.employer = null;
+		Object[] values = new Object[columns.size()];
+		row.evaluate(ee, values);
+		Assert.assertEquals(Arrays.<Object> asList(null, "bob", null, null, ee, null), Arrays.asList(values));
+	}
+
+	public void testDirtyTracker() {
+		DirtyTracker<Employee> tracker = new DirtyTracker<Employee>(EmployeeBinding.PATHS, 2);
+		Employee ee = new Employee("bob");
+		DirtyTracker.Snapshot before = tracker.snapshot(ee);
+		Assert.assertEquals(0, tracker.getChangedBindings(before, ee).size());
+
+		ee.name = "fred";
+		ee.employer = new Employer();
+		ee.employer.name = "at&t";
+		Assert.assertEquals(Arrays.asList("employer", "employer.name", "name"), tracker.getChangedPaths(before, ee));
+		Assert.assertSame(EmployeeBinding.PATHS.name(), tracker.getChangedBindings(before, ee).get(2));
+
+		before = tracker.snapshot(ee);
+		ee.employer.name = "verizon";
+		Assert.assertEquals(Arrays.asList("employer.name"), tracker.getChangedPaths(before, ee));
+
+		before = tracker.snapshot(ee);
+		ee.employer = new Employer();
+		ee.employer.name = "verizon";
+		Assert.assertEquals(Arrays.asList("employer"), tracker.getChangedPaths(before, ee));
+	}
+
+	public void testDirtyTrackerSnapshotsLineUpWithPropertyNames() {
+		DirtyTracker<Employee> tracker = new DirtyTracker<Employee>(EmployeeBinding.PATHS, 2);
+		Employee ee = new Employee("bob");
+		ee.employer = new Employer();
+		DirtyTracker.Snapshot snapshot = tracker.snapshot(ee);
+		Assert.assertEquals("bob", snapshot.getValue(EmployeeBinding.ordinalOf("name")));
+		Assert.assertSame(ee.employer, snapshot.getValue(EmployeeBinding.PROPERTY_NAMES.indexOf("employer")));
+	}
+
+	public void testMapper() {
+		BindingMapper<Employee, EmployeeSummary> mapper = new BindingMapper<Employee, EmployeeSummary>()//
+			.addMatching(EmployeeBinding.PATHS, EmployeeSummaryBinding.PATHS)
+			.add(EmployeeBinding.PATHS.employer().name(), EmployeeSummaryBinding.PATHS.employerName());
+		Assert.assertEquals(Arrays.asList("name", "department", "employer.name", "employerName"), mapper.getMappedPaths());
+
+		Employee ee = new Employee("bob");
+		ee.department = "accounting";
+		EmployeeSummary summary = new EmployeeSummary();
+		summary.setEmployerName("none");
+		mapper.map(ee, summary);
+		Assert.assertEquals("bob", summary.getName());
+		Assert.assertEquals("accounting", summary.getDepartment());
+		Assert.assertEquals("none", summary.getEmployerName());
+
+		ee.employer = new Employer();
+		ee.employer.name = "at&t";
+		summary.setEmployer(new EmployerSummary());
+		mapper.map(ee, summary);
+		Assert.assertEquals("at&t", summary.getEmployer().name);
+		Assert.assertEquals("at&t", summary.getEmployerName());
+	}
+
+	public void testSerializedAsPath() throws Exception {
+		Assert.assertSame(EmployeeBinding.PATHS.employer().name(), this.serializeAndRead(EmployeeBinding.PATHS.employer().name()));
+
+		Employee ee = new Employee("bob");
+		ee.employer = new Employer();
+		ee.employer.name = "at&t";
+		EmployeeBinding eb = new EmployeeBinding(ee);
+		Binding<?> name = (Binding<?>) this.serializeAndRead(eb.employer().name());
+		Assert.assertEquals("employer.name", name.getPath());
+		Assert.assertEquals("at&t", name.get());
+		Assert.assertEquals("bob", ((Employee) name.getParentBinding().getParentBinding().get()).name);
+		Assert.assertEquals("employer.name", ((Binding<?>) this.serializeAndRead(eb.flatEmployerName())).getPath());
+	}
+
+	private Object serializeAndRead(Object object) throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bytes);
+		out.writeObject(object);
+		out.close();
+		return new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+	}
+
+	public void testFlatPath() {
+		Employer er = new Employer();
+		er.name = "at&t";
+		Employee ee = new Employee("bob");
+		ee.employer = er;
+
+		EmployeeBinding eb = new EmployeeBinding(ee);
+		Assert.assertEquals("at&t", eb.flatEmployerName().get());
+		Assert.assertEquals("employer.name", eb.flatEmployerName().getPath());
+		Assert.assertEquals("at&t", EmployeeBinding.PATHS.flatEmployerName().getWithRoot(ee));
+
+		EmployeeBinding.PATHS.flatEmployerName().setWithRoot(ee, "newAt&t");
+		Assert.assertEquals("newAt&t", er.name);
+
+		ee.employer = null;
+		Assert.assertFalse(eb.flatEmployerName().getIsSafe());
+		Assert.assertNull(eb.flatEmployerName().getSafely());
+	}
+
+	public void testAllWithRoots() {
+		Employer er1 = new Employer();
+		er1.name = "at&t";
+		Employer er2 = new Employer();
+		er2.name = "exigence";
+		Employee ee1 = new Employee("bob");
+		ee1.employer = er1;
+		Employee ee2 = new Employee("fred");
+		ee2.employer = er2;
+		List<Employee> roots = Arrays.asList(ee1, ee2);
+
+		String[] names = new String[2];
+		EmployeeBinding.PATHS.employer().name().getAllWithRoots(roots, names);
+		Assert.assertEquals("at&t", names[0]);
+		Assert.assertEquals("exigence", names[1]);
+
+		EmployeeBinding.PATHS.employer().name().setAllWithRoots(roots, new String[] { "a", "b" });
+		Assert.assertEquals("a", er1.name);
+		Assert.assertEquals("b", er2.name);
+	}
+
+	public void testResolvePath() {
+		Employer er = new Employer();
+		er.name = "at&t";
+		Employee ee = new Employee();
+		ee.employer = er;
+
+		BindingPathResolver<Employee> resolver = new BindingPathResolver<Employee>(new EmployeeBinding());
+		Assert.assertEquals("at&t", resolver.getWithRoot(ee, "employer.name"));
+		Assert.assertSame(resolver.resolve("employer.name"), resolver.resolve("employer.name"));
+		Assert.assertEquals("employer.name", resolver.resolve("employer.name").getPath());
+		Assert.assertSame(ee, resolver.getWithRoot(ee, "#root"));
+
+		resolver.setWithRoot(ee, "employer.name", "exigence");
+		Assert.assertEquals("exigence", er.name);
+		try {
+			resolver.resolve("employer.foo");
+			Assert.fail();
+		} catch (IllegalArgumentException iae) {
+			Assert.assertEquals("No binding for foo in employer.foo", iae.getMessage());
+		}
+	}
+
+	public void testByOrdinal() {
+		Employee ee = new Employee("bob");
+		int name = EmployeeBinding.ordinalOf("name");
+		Assert.assertEquals("name", EmployeeBinding.PROPERTY_NAMES.get(name));
+		Assert.assertEquals(String.class, EmployeeBinding.PROPERTY_TYPES.get(name));
+		Assert.assertFalse(EmployeeBinding.PROPERTY_READ_ONLY.get(name));
+		Assert.assertTrue(EmployeeBinding.PROPERTY_READ_ONLY.get(EmployeeBinding.ordinalOf("hashCodeBinding")));
+		try {
+			EmployeeBinding.PROPERTY_NAMES.set(name, "foo");
+			Assert.fail();
+		} catch (UnsupportedOperationException uoe) {
+		}
+		Assert.assertEquals(-1, EmployeeBinding.ordinalOf("foo"));
+
+		Assert.assertEquals("bob", EmployeeBinding.PATHS.getByOrdinal(ee, name));
+		EmployeeBinding.PATHS.setByOrdinal(ee, name, "fred");
+		Assert.assertEquals("fred", ee.name);
+		Assert.assertSame(EmployeeBinding.PATHS.getChildBindings().get(name), EmployeeBinding.PATHS.name());
+		try {
+			EmployeeBinding.PATHS.getByOrdinal(ee, EmployeeBinding.PROPERTY_NAMES.size());
+			Assert.fail();
+		} catch (IndexOutOfBoundsException ioobe) {
+		}
+	}
+
+	public void testChildBindingsAreCached() {
+		EmployeeBinding eb = new EmployeeBinding();
+		Assert.assertSame(eb.getChildBindings(), eb.getChildBindings());
+		try {
+			eb.getChildBindings().clear();
+			Assert.fail();
+		} catch (UnsupportedOperationException uoe) {
+		}
+	}
+
+	public void testVisitor() {
+		final List<String> paths = new ArrayList<String>();
+		new EmployeeBinding().accept(new BindingVisitor() {
+			public boolean visit(Binding<?> binding, int depth) {
+				paths.add(binding.getPath());
+				return depth == 0 || binding.getName().equals("employer");
+			}
+		}, 2);
+		Assert.assertEquals(Arrays.asList(
+			"#root",
+			"hashCodeBinding",
+			"toStringBinding",
+			"employer",
+			"employer.hashCodeBinding",
+			"employer.toStringBinding",
+			"employer.name",
+			"employer.employees",
+			"name",
+			"department"), paths);
+	}
+
 	public static class TextBox {
 		Binding<Object> binding;
 
@@ -125,4 +416,26 @@ public class EmployeeTest extends TestCase {
 		}
 	}
 
+	/** A binding written by hand, which only implements {@code getWithRoot}. */
+	private static class EmployerNameBinding extends AbstractBinding<Employee, String> {
+		private static final long serialVersionUID = 1L;
+
+		public String getName() {
+			return "name";
+		}
+
+		public Class<?> getType() {
+			return String.class;
+		}
+
+		@Override
+		public Binding<?> getParentBinding() {
+			return EmployeeBinding.PATHS.employer();
+		}
+
+		public String getWithRoot(Employee root) {
+			return root.employer.name;
+		}
+	}
+
 }
@@ -0,0 +1,225 @@
+package org.bindgen.example.methods;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.Assert;
+import junit.framework.TestCase;
+
+import org.bindgen.Binding;
+import org.bindgen.BindingRoot;
+import org.bindgen.binding.AbstractBinding;
+import org.bindgen.binding.Memoization;
+import org.bindgen.binding.RowEvaluator;
+import org.bindgen.example.FieldExample;
+import org.bindgen.example.FieldExampleBinding;
+import org.bindgen.runtime.PerThreadMemoization;
+
+public class MemoizeExampleTest extends TestCase {
+
+	@Override
+	protected void tearDown() throws Exception {
+		Memoization.setScopes(null);
+		super.tearDown();
+	}
+
+	public void testCachedWithinEpoch() {
+		MemoizeExample e = new MemoizeExample();
+		MemoizeExampleBinding b = new MemoizeExampleBinding(e);
+
+		Assert.assertEquals("label a", b.label().get());
+		Assert.assertEquals("label a", b.label().get());
+		Assert.assertEquals("label a", b.label().getSafely());
+		Assert.assertEquals(1, e.calls);
+		Assert.assertEquals(1, b.length().getInt());
+		Assert.assertEquals(Integer.valueOf(1), b.length().get());
+		Assert.assertEquals(Arrays.asList("a"), b.letters().get());
+		Assert.assertSame(b.letters().get(), b.letters().get());
+		Assert.assertEquals(3, e.calls);
+	}
+
+	public void testNotMemoizedUnlessConfigured() {
+		MemoizeExample e = new MemoizeExample();
+		MemoizeExampleBinding b = new MemoizeExampleBinding(e);
+
+		b.upper().get();
+		b.upper().get();
+		Assert.assertEquals(2, e.calls);
+	}
+
+	public void testGeneratedSetMovesEpochOn() {
+		MemoizeExample e = new MemoizeExample();
+		MemoizeExampleBinding b = new MemoizeExampleBinding(e);
+
+		Assert.assertEquals("label a", b.label().get());
+		b.name().set("bb");
+		Assert.assertEquals("label bb", b.label().get());
+		Assert.assertEquals(2, b.length().getInt());
+	}
+
+	public void testAtomicWritesMoveEpochOn() {
+		MemoizeExample e = new MemoizeExample();
+		MemoizeExampleBinding b = new MemoizeExampleBinding(e);
+
+		Assert.assertEquals("label a", b.label().get());
+		Assert.assertTrue(b.name().compareAndSet("a", "b"));
+		Assert.assertEquals("label b", b.label().get());
+		b.name().getAndSet("c");
+		Assert.assertEquals("label c", b.label().get());
+		b.name().setRelease("d");
+		Assert.assertEquals("label d", b.label().get());
+	}
+
+	public void testNextEpochInvalidates() {
+		MemoizeExample e = new MemoizeExample();
+		MemoizeExampleBinding b = new MemoizeExampleBinding(e);
+
+		Assert.assertEquals("label a", b.label().get());
+		e.name = "c";
+		Assert.assertEquals("label a", b.label().get());
+		Memoization.nextEpoch();
+		Assert.assertEquals("label c", b.label().get());
+	}
+
+	public void testCachedPerRoot() {
+		MemoizeExample e1 = new MemoizeExample();
+		MemoizeExample e2 = new MemoizeExample();
+		e2.name = "b";
+
+		Assert.assertEquals("label a", MemoizeExampleBinding.PATHS.label().getWithRoot(e1));
+		Assert.assertEquals("label b", MemoizeExampleBinding.PATHS.label().getWithRoot(e2));
+		Assert.assertEquals("label b", MemoizeExampleBinding.PATHS.label().getWithRoot(e2));
+		Assert.assertEquals(1, e2.calls);
+	}
+
+	public void testAlternatingRootsThroughPathsStayCached() {
+		MemoizeExample e1 = new MemoizeExample();
+		MemoizeExample e2 = new MemoizeExample();
+		e2.name = "b";
+
+		for (int i = 0; i < 3; i++) {
+			Assert.assertEquals("label a", MemoizeExampleBinding.PATHS.label().getWithRoot(e1));
+			Assert.assertEquals("label b", MemoizeExampleBinding.PATHS.label().getWithRoot(e2));
+		}
+		Assert.assertEquals(1, e1.calls);
+		Assert.assertEquals(1, e2.calls);
+		// and other bindings of the same method share the values
+		Assert.assertEquals("label a", new MemoizeExampleBinding(e1).label().get());
+		Assert.assertEquals(1, e1.calls);
+	}
+
+	public void testPerThreadScopes() throws Exception {
+		Memoization.setScopes(new PerThreadMemoization());
+		final MemoizeExample e = new MemoizeExample();
+		final MemoizeExampleBinding b = new MemoizeExampleBinding(e);
+
+		Assert.assertEquals("label a", b.label().get());
+		Thread other = new Thread() {
+			public void run() {
+				e.name = "b";
+				Memoization.nextEpoch();
+			}
+		};
+		other.start();
+		other.join();
+		// the other thread only moved its own epoch on
+		Assert.assertEquals("label a", b.label().get());
+		Memoization.nextEpoch();
+		Assert.assertEquals("label b", b.label().get());
+
+		other = new Thread() {
+			public void run() {
+				b.name().set("c");
+			}
+		};
+		other.start();
+		other.join();
+		// but writes through bindings invalidate the values on every thread
+		Assert.assertEquals("label c", b.label().get());
+	}
+
+	public void testWritesToOtherTypesInvalidate() {
+		MemoizeExample e = new MemoizeExample();
+		MemoizeExampleBinding b = new MemoizeExampleBinding(e);
+
+		Assert.assertEquals("label a", b.label().get());
+		// a value can depend on other objects, e.g. an order's total on its lines, so any write invalidates it
+		new FieldExampleBinding(new FieldExample("a")).name().set("b");
+		Assert.assertEquals("label a", b.label().get());
+		Assert.assertEquals(2, e.calls);
+	}
+
+	public void testFlatPathsAreMemoized() {
+		MemoizeExample e = new MemoizeExample();
+		MemoizeExampleBinding b = new MemoizeExampleBinding(e);
+
+		Assert.assertEquals(Integer.valueOf(7), b.flatLabelLength().get());
+		Assert.assertEquals(Integer.valueOf(7), b.flatLabelLength().getSafely());
+		Assert.assertEquals(1, e.calls);
+		b.name().set("bb");
+		Assert.assertEquals(Integer.valueOf(8), b.flatLabelLength().get());
+		Assert.assertEquals(2, e.calls);
+	}
+
+	public void testPathsDoNotKeepTheirLastRootAlive() {
+		MemoizeExample e = new MemoizeExample();
+		Assert.assertEquals("label a", MemoizeExampleBinding.PATHS.label().getWithRoot(e));
+		WeakReference<MemoizeExample> ref = new WeakReference<MemoizeExample>(e);
+		e = null;
+		for (int i = 0; i < 10 && ref.get() != null; i++) {
+			System.gc();
+		}
+		Assert.assertNull(ref.get());
+	}
+
+	public void testRowEvaluatorCallsSharedGettersOnce() {
+		List<BindingRoot<MemoizeExample, ?>> columns = new ArrayList<BindingRoot<MemoizeExample, ?>>();
+		columns.add(MemoizeExampleBinding.PATHS.upper());
+		columns.add(MemoizeExampleBinding.PATHS.upper().length());
+		columns.add(MemoizeExampleBinding.PATHS.upper().toLowerCase());
+		columns.add(MemoizeExampleBinding.PATHS.name());
+		RowEvaluator<MemoizeExample> row = new RowEvaluator<MemoizeExample>(columns);
+
+		MemoizeExample e = new MemoizeExample();
+		Assert.assertEquals(Arrays.<Object> asList("A", 1, "a", "a"), Arrays.asList(row.evaluate(e)));
+		Assert.assertEquals(1, e.calls);
+	}
+
+	public void testRowEvaluatorReadsHandWrittenBindingsUnderSharedGettersFromTheRoot() {
+		List<BindingRoot<MemoizeExample, ?>> columns = new ArrayList<BindingRoot<MemoizeExample, ?>>();
+		columns.add(new UpperLengthBinding());
+		columns.add(MemoizeExampleBinding.PATHS.upper().length());
+		columns.add(MemoizeExampleBinding.PATHS.upper().toLowerCase());
+		RowEvaluator<MemoizeExample> row = new RowEvaluator<MemoizeExample>(columns);
+
+		MemoizeExample e = new MemoizeExample();
+		Assert.assertEquals(Arrays.<Object> asList(10, 1, "a"), Arrays.asList(row.evaluate(e)));
+		// once for the shared upper(), and once for the hand-written binding's parent
+		Assert.assertEquals(2, e.calls);
+	}
+
+	/** Has the same name as a generated binding under upper(), but does not support getFromParent. */
+	private static class UpperLengthBinding extends AbstractBinding<MemoizeExample, Integer> {
+		private static final long serialVersionUID = 1L;
+
+		public String getName() {
+			return "length";
+		}
+
+		public Class<?> getType() {
+			return Integer.class;
+		}
+
+		@Override
+		public Binding<?> getParentBinding() {
+			return MemoizeExampleBinding.PATHS.upper();
+		}
+
+		public Integer getWithRoot(MemoizeExample root) {
+			return root.name.length() * 10;
+		}
+	}
+
+}
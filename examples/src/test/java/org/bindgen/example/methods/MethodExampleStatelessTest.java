@@ -1,5 +1,8 @@
 package org.bindgen.example.methods;
 
+import java.util.Arrays;
+import java.util.List;
+
 import junit.framework.Assert;
 import junit.framework.TestCase;
 
@@ -24,6 +27,20 @@ public class MethodExampleStatelessTest extends TestCase {
 
 	}
 
+	public void testReadWriteAll() {
+		StringBindingPath<MethodExample> name = MethodExampleBinding.PATHS.name();
+		List<MethodExample> roots = Arrays.asList(new MethodExample("1", "fred"), new MethodExample("2", "bob"));
+
+		String[] names = new String[roots.size()];
+		name.getAllWithRoots(roots, names);
+		Assert.assertEquals("fred", names[0]);
+		Assert.assertEquals("bob", names[1]);
+
+		name.setAllWithRoots(roots, new String[] { "fred2", "bob2" });
+		Assert.assertEquals("fred2", roots.get(0).getName());
+		Assert.assertEquals("bob2", roots.get(1).getName());
+	}
+
 	public void testReadOnly() {
 		MethodExampleBinding b = new MethodExampleBinding();
 		MethodExample e1 = new MethodExample("1", "fred");
@@ -41,6 +41,14 @@ public class MethodExampleTest extends TestCase {
 		Assert.assertEquals(true, e.isGood());
 	}
 
+	public void testBooleanUnboxed() {
+		MethodExample e = new MethodExample("1", "name");
+		MethodExampleBinding b = new MethodExampleBinding(e);
+		b.good().setBoolean(true);
+		Assert.assertTrue(b.good().getBoolean());
+		Assert.assertTrue(e.isGood());
+	}
+
 	public void testToString() {
 		MethodExample e = new MethodExample("1", "name");
 		MethodExampleBinding b = new MethodExampleBinding(e);
@@ -114,5 +122,12 @@ public class MethodExampleTest extends TestCase {
 		MethodExample e = new MethodExample("1", "name");
 		MethodExampleBinding b = new MethodExampleBinding(e);
 		Assert.assertEquals(new Integer(1), b.noArg().get());
+		Assert.assertEquals(1, b.noArg().getInt());
+		try {
+			b.noArg().setInt(2);
+			Assert.fail();
+		} catch (RuntimeException re) {
+			Assert.assertEquals("noArg is read only", re.getMessage());
+		}
 	}
 }
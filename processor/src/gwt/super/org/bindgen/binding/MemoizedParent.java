@@ -0,0 +1,21 @@
+package org.bindgen.binding;
+
+/**
+ * The object a {@link Memoization.Entry} is for.
+ *
+ * This is GWT's version, which holds it strongly, as GWT has no weak references.
+ */
+class MemoizedParent {
+
+	private final Object parent;
+
+	MemoizedParent(Object parent) {
+		this.parent = parent;
+	}
+
+	/** @return whether this is <code>parent</code>, by identity */
+	boolean is(Object parent) {
+		return this.parent == parent;
+	}
+
+}
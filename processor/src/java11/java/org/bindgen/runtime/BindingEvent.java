@@ -0,0 +1,31 @@
+package org.bindgen.runtime;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Threshold;
+
+import org.bindgen.Binding;
+
+/** The fields shared by {@link BindingGet} and {@link BindingSet}, filled in only for the calls that are committed. */
+@Category("Bindgen")
+@Threshold("20 ms")
+abstract class BindingEvent extends Event {
+
+	@Label("Root Type")
+	Class<?> rootType;
+
+	@Label("Path")
+	String path;
+
+	void commit(Binding<?> binding) {
+		Binding<?> root = binding;
+		while (root.getParentBinding() != null) {
+			root = root.getParentBinding();
+		}
+		this.rootType = root.getType();
+		this.path = binding.getPath();
+		this.commit();
+	}
+
+}
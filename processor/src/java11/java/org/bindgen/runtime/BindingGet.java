@@ -0,0 +1,12 @@
+package org.bindgen.runtime;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** A <code>get</code>, <code>getWithRoot</code> or similar call of an instrumented binding, see {@link FlightRecorderMetrics}. */
+@Name("org.bindgen.BindingGet")
+@Label("Binding Get")
+@Description("A get call of a binding generated with instrumentBindings=true")
+public final class BindingGet extends BindingEvent {
+}
@@ -0,0 +1,12 @@
+package org.bindgen.runtime;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** A <code>set</code>, <code>setWithRoot</code> or similar call of an instrumented binding, see {@link FlightRecorderMetrics}. */
+@Name("org.bindgen.BindingSet")
+@Label("Binding Set")
+@Description("A set call of a binding generated with instrumentBindings=true")
+public final class BindingSet extends BindingEvent {
+}
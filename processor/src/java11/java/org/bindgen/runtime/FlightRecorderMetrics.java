@@ -0,0 +1,74 @@
+package org.bindgen.runtime;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.bindgen.Binding;
+
+/**
+ * Commits the <code>get</code>/<code>set</code> calls of instrumented bindings as {@link BindingGet} and
+ * {@link BindingSet} flight recorder events, named <code>org.bindgen.BindingGet</code>/<code>org.bindgen.BindingSet</code>,
+ * with their root type, path and duration:
+ *
+ * <code>
+ *     Instrumentation.setMetrics(new FlightRecorderMetrics());
+ * </code>
+ *
+ * The events are off unless a flight recording is running, e.g. one started with <code>jcmd &lt;pid&gt; JFR.start</code>,
+ * and are only committed for calls that take at least their threshold, 20 ms unless the recording's settings give
+ * another, e.g. <code>org.bindgen.BindingGet#threshold=5 ms</code>. While they are off, a call only checks the event's
+ * enabled flag, without reading the clock, so this can stay installed in production, unlike {@link SlowBindingMetrics}.
+ *
+ * A binding's duration includes evaluating its parents, so a slow <code>employer</code> also makes
+ * <code>employer.name</code> slow.
+ *
+ * This needs <code>jdk.jfr</code>, so is in the separate <code>bindgen-jfr</code> jar for Java 11+.
+ */
+public class FlightRecorderMetrics implements BindingMetrics {
+
+	private static final BindingGet GET = new BindingGet();
+	private static final BindingSet SET = new BindingSet();
+	/** The events begun on each thread, as a getter can itself call instrumented bindings. */
+	private static final ThreadLocal<Deque<BindingEvent>> started = new ThreadLocal<Deque<BindingEvent>>() {
+		@Override
+		protected Deque<BindingEvent> initialValue() {
+			return new ArrayDeque<BindingEvent>();
+		}
+	};
+
+	public long startGet(Binding<?> binding) {
+		return GET.isEnabled() ? start(new BindingGet()) : -1;
+	}
+
+	public void endGet(Binding<?> binding, long start) {
+		end(binding, start);
+	}
+
+	public long startSet(Binding<?> binding) {
+		return SET.isEnabled() ? start(new BindingSet()) : -1;
+	}
+
+	public void endSet(Binding<?> binding, long start) {
+		end(binding, start);
+	}
+
+	/** @return the number of events begun on this thread, which is never -1 */
+	private static long start(BindingEvent event) {
+		Deque<BindingEvent> events = started.get();
+		events.push(event);
+		event.begin();
+		return events.size();
+	}
+
+	private static void end(Binding<?> binding, long start) {
+		if (start == -1) {
+			return;
+		}
+		BindingEvent event = started.get().pop();
+		event.end();
+		if (event.shouldCommit()) {
+			event.commit(binding);
+		}
+	}
+
+}
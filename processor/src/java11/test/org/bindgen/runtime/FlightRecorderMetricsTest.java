@@ -0,0 +1,73 @@
+package org.bindgen.runtime;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.bindgen.Binding;
+import org.bindgen.BindingRoot;
+import org.bindgen.processor.AbstractBindgenTestCase;
+import org.junit.After;
+import org.junit.Test;
+
+public class FlightRecorderMetricsTest extends AbstractBindgenTestCase {
+
+	@After
+	public void uninstallMetrics() {
+		Instrumentation.setMetrics(null);
+	}
+
+	@Test
+	public void testNothingIsTimedWithoutARecording() {
+		FlightRecorderMetrics metrics = new FlightRecorderMetrics();
+		assertEquals(-1, metrics.startGet(null));
+		metrics.endGet(null, -1);
+		assertEquals(-1, metrics.startSet(null));
+		metrics.endSet(null, -1);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testCallsAreCommittedAsEvents() throws Exception {
+		this.setAptProperty("instrumentBindings", "true");
+		ClassLoader loader = this.compile(filePath("org.bindgen.processor.basic.Address"), filePath("org.bindgen.processor.basic.Person"));
+		Class<?> personClass = loader.loadClass("org.bindgen.processor.basic.Person");
+		Object person = personClass.newInstance();
+		personClass.getField("address").set(person, loader.loadClass("org.bindgen.processor.basic.Address").newInstance());
+		Binding<?> paths = (Binding<?>) loader.loadClass("org.bindgen.processor.basic.PersonBinding").getField("PATHS").get(null);
+		BindingRoot<Object, Object> city = (BindingRoot<Object, Object>) paths.getChildBinding("address").getChildBinding("city");
+
+		Instrumentation.setMetrics(new FlightRecorderMetrics());
+		File file = File.createTempFile("bindgen", ".jfr");
+		Recording recording = new Recording();
+		try {
+			recording.enable("org.bindgen.BindingGet").withThreshold(Duration.ZERO);
+			recording.enable("org.bindgen.BindingSet").withThreshold(Duration.ZERO);
+			recording.start();
+			city.setWithRoot(person, "Omaha");
+			assertEquals("Omaha", city.getWithRoot(person));
+			recording.stop();
+			recording.dump(file.toPath());
+		} finally {
+			recording.close();
+		}
+
+		List<RecordedEvent> events = RecordingFile.readAllEvents(file.toPath());
+		file.delete();
+		assertEquals(2, events.size());
+		assertEquals("org.bindgen.BindingSet", events.get(0).getEventType().getName());
+		assertEquals("org.bindgen.BindingGet", events.get(1).getEventType().getName());
+		for (RecordedEvent event : events) {
+			assertEquals("address.city", event.getString("path"));
+			assertEquals(personClass.getName(), event.getClass("rootType").getName());
+			assertFalse(event.getDuration().isNegative());
+		}
+	}
+
+}
@@ -0,0 +1,102 @@
+package org.bindgen.runtime;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bindgen.Binding;
+import org.bindgen.BindingRoot;
+
+/**
+ * Turns a stateless binding, e.g. {@code FooBinding.PATHS.bar().zaz()}, into a {@link MethodHandle}, for
+ * code that compiles expressions into <code>static final</code> handles or its own call sites:
+ *
+ * <code>
+ *     static final MethodHandle ZAZ = BindingHandles.getterHandle(FooBinding.PATHS.bar().zaz());
+ *     // ...
+ *     String zaz = (String) ZAZ.invokeExact(foo);
+ * </code>
+ *
+ * The getter is one {@link MethodHandles#filterReturnValue(MethodHandle, MethodHandle)} per level of the path,
+ * each calling that level's {@link Binding#getFromParent(Object)} bound to the binding, and guarded to return
+ * <code>null</code> if the value it is given is <code>null</code>, like {@link BindingRoot#getSafelyWithRoot(Object)}.
+ * As the bindings are bound into the handle, the JIT can fold and inline the whole path when the handle is a constant.
+ *
+ * This needs <code>java.lang.invoke</code>, so is in the separate <code>bindgen-handles</code> jar for Java 7+.
+ */
+public class BindingHandles {
+
+	private static final MethodHandle GET_FROM_PARENT;
+	private static final MethodHandle SET_WITH_ROOT;
+	private static final MethodHandle IS_NULL;
+	private static final MethodHandle RETURN_NULL = MethodHandles.dropArguments(MethodHandles.constant(Object.class, null), 0, Object.class);
+
+	static {
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		try {
+			GET_FROM_PARENT = lookup.findVirtual(Binding.class, "getFromParent", MethodType.methodType(Object.class, Object.class));
+			SET_WITH_ROOT = lookup.findVirtual(BindingRoot.class, "setWithRoot", MethodType.methodType(void.class, Object.class, Object.class));
+			IS_NULL = lookup.findStatic(BindingHandles.class, "isNull", MethodType.methodType(boolean.class, Object.class));
+		} catch (NoSuchMethodException nsme) {
+			throw new ExceptionInInitializerError(nsme);
+		} catch (IllegalAccessException iae) {
+			throw new ExceptionInInitializerError(iae);
+		}
+	}
+
+	private BindingHandles() {
+	}
+
+	/**
+	 * @param binding a stateless binding, e.g. {@code FooBinding.PATHS.bar().zaz()}
+	 * @return a null-safe handle of type <code>(R)T</code> for <code>binding</code>, with a primitive <code>T</code> boxed
+	 */
+	public static MethodHandle getterHandle(Binding<?> binding) {
+		MethodHandle handle = MethodHandles.identity(Object.class);
+		for (Binding<?> level : levelsOf(binding)) {
+			MethodHandle read = GET_FROM_PARENT.bindTo(level);
+			handle = MethodHandles.filterReturnValue(handle, MethodHandles.guardWithTest(IS_NULL, RETURN_NULL, read));
+		}
+		return handle.asType(MethodType.methodType(boxed(binding.getType()), boxed(rootOf(binding).getType())));
+	}
+
+	/**
+	 * Unlike the getter, this is not null-safe, as there is nothing to set on a <code>null</code> parent.
+	 *
+	 * @param binding a stateless binding, e.g. {@code FooBinding.PATHS.bar().zaz()}
+	 * @return a handle of type <code>(R,T)void</code> for <code>binding</code>'s {@link BindingRoot#setWithRoot(Object, Object)}
+	 */
+	public static MethodHandle setterHandle(BindingRoot<?, ?> binding) {
+		MethodHandle handle = SET_WITH_ROOT.bindTo(binding);
+		return handle.asType(MethodType.methodType(void.class, boxed(rootOf(binding).getType()), boxed(binding.getType())));
+	}
+
+	/** @return the bindings from the root's child down to <code>binding</code>, e.g. <code>bar</code> and <code>zaz</code> */
+	private static List<Binding<?>> levelsOf(Binding<?> binding) {
+		List<Binding<?>> levels = new ArrayList<Binding<?>>();
+		for (Binding<?> level = binding; level.getParentBinding() != null; level = level.getParentBinding()) {
+			levels.add(0, level);
+		}
+		return levels;
+	}
+
+	private static Binding<?> rootOf(Binding<?> binding) {
+		Binding<?> root = binding;
+		while (root.getParentBinding() != null) {
+			root = root.getParentBinding();
+		}
+		return root;
+	}
+
+	/** @return the wrapper type of <code>type</code> if it is primitive, or <code>Object</code> for generic types without one */
+	private static Class<?> boxed(Class<?> type) {
+		return type == null ? Object.class : MethodType.methodType(type).wrap().returnType();
+	}
+
+	private static boolean isNull(Object value) {
+		return value == null;
+	}
+
+}
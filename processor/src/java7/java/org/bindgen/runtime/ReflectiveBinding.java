@@ -0,0 +1,96 @@
+package org.bindgen.runtime;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.bindgen.Binding;
+import org.bindgen.BindingRoot;
+import org.bindgen.FromParentBinding;
+import org.bindgen.binding.AbstractBinding;
+
+/** A binding to a {@link ReflectiveProperty} of its parent binding's value; unlike generated bindings, it is not serializable. */
+class ReflectiveBinding<R, T> extends AbstractBinding<R, T> implements FromParentBinding {
+
+	private static final long serialVersionUID = 1L;
+	private final ReflectiveBindingFactory factory;
+	private final ReflectiveProperty property;
+	private final BindingRoot<R, ?> parent;
+	private transient List<Binding<?>> _childBindings;
+
+	ReflectiveBinding(ReflectiveBindingFactory factory, BindingRoot<R, ?> parent, ReflectiveProperty property) {
+		this.factory = factory;
+		this.parent = parent;
+		this.property = property;
+	}
+
+	@Override
+	public String getName() {
+		return this.property.getName();
+	}
+
+	@Override
+	public Class<?> getType() {
+		return this.property.getType();
+	}
+
+	@Override
+	public Binding<?> getParentBinding() {
+		return this.parent;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T get() {
+		return (T) this.property.get(this.parent.get());
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T getWithRoot(R root) {
+		return (T) this.property.get(this.parent.getWithRoot(root));
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T getSafely() {
+		Object parentValue = this.parent.getSafely();
+		return parentValue == null ? null : (T) this.property.get(parentValue);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T getSafelyWithRoot(R root) {
+		Object parentValue = this.parent.getSafelyWithRoot(root);
+		return parentValue == null ? null : (T) this.property.get(parentValue);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T getFromParent(Object parent) {
+		return (T) this.property.get(parent);
+	}
+
+	@Override
+	public boolean getIsReadOnly() {
+		return this.property.isReadOnly();
+	}
+
+	@Override
+	public void set(T value) {
+		this.property.set(this.parent.get(), value);
+	}
+
+	@Override
+	public void setWithRoot(R root, T value) {
+		this.property.set(this.parent.getWithRoot(root), value);
+	}
+
+	@Override
+	public List<Binding<?>> getChildBindings() {
+		if (this._childBindings == null) {
+			this._childBindings = Collections.unmodifiableList(this.factory.newChildBindings(this));
+		}
+		return this._childBindings;
+	}
+
+}
@@ -0,0 +1,135 @@
+package org.bindgen.runtime;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bindgen.Binding;
+import org.bindgen.BindingRoot;
+import org.bindgen.binding.ChildBindingFactory;
+import org.bindgen.binding.GenericObjectBindingPath;
+
+/**
+ * Creates bindings for the public getters/setters and fields of types without generated bindings.
+ *
+ * Bindgen only generates bindings for types within its <code>scope</code>, so properties of other
+ * types get a {@link GenericObjectBindingPath}, which has no children. Installing this factory with:
+ *
+ * <code>
+ *     GenericObjectBindingPath.setChildBindingFactory(new ReflectiveBindingFactory());
+ * </code>
+ *
+ * gives them child bindings, e.g. <code>personBinding.addressOut().getChildBinding("city")</code>,
+ * that can be walked further down like any other binding.
+ *
+ * Each class's properties are looked up once, into a {@link ClassValue}, as {@link java.lang.invoke.MethodHandle}s,
+ * so evaluating a binding is one handle call per level, and the cache does not keep e.g. a redeployed webapp's
+ * classloader alive. The getters and then the fields are each sorted by name, so the order of the child bindings,
+ * unlike that of {@link Class#getMethods()}, is the same on every run.
+ *
+ * This needs <code>java.lang.invoke</code>, so is in the separate <code>bindgen-handles</code> jar for Java 7+.
+ */
+public class ReflectiveBindingFactory implements ChildBindingFactory {
+
+	private static final Comparator<Method> METHODS_BY_NAME = new Comparator<Method>() {
+		public int compare(Method a, Method b) {
+			int names = a.getName().compareTo(b.getName());
+			return names != 0 ? names : a.getReturnType().getName().compareTo(b.getReturnType().getName());
+		}
+	};
+	private static final Comparator<Field> FIELDS_BY_NAME = new Comparator<Field>() {
+		public int compare(Field a, Field b) {
+			return a.getName().compareTo(b.getName());
+		}
+	};
+	private final ClassValue<List<ReflectiveProperty>> properties = new ClassValue<List<ReflectiveProperty>>() {
+		@Override
+		protected List<ReflectiveProperty> computeValue(Class<?> type) {
+			return findProperties(type);
+		}
+	};
+
+	@Override
+	public <R> List<Binding<?>> newChildBindings(BindingRoot<R, ?> parent) {
+		List<Binding<?>> children = new ArrayList<Binding<?>>();
+		if (parent.getType() != null) {
+			for (ReflectiveProperty property : this.getProperties(parent.getType())) {
+				children.add(new ReflectiveBinding<R, Object>(this, parent, property));
+			}
+		}
+		return children;
+	}
+
+	private List<ReflectiveProperty> getProperties(Class<?> type) {
+		return this.properties.get(type);
+	}
+
+	/**
+	 * @return the getters (with their setters, if any) and then the fields not already covered by a getter,
+	 *     skipping any that cannot be made accessible
+	 */
+	private static List<ReflectiveProperty> findProperties(Class<?> type) {
+		Map<String, ReflectiveProperty> found = new LinkedHashMap<String, ReflectiveProperty>();
+		Method[] methods = type.getMethods();
+		Arrays.sort(methods, METHODS_BY_NAME);
+		for (Method method : methods) {
+			String name = propertyName(method);
+			if (name != null && !found.containsKey(name)) {
+				ReflectiveProperty property = ReflectiveProperty.of(name, method, findSetter(type, name, method.getReturnType()));
+				if (property != null) {
+					found.put(name, property);
+				}
+			}
+		}
+		Field[] fields = type.getFields();
+		Arrays.sort(fields, FIELDS_BY_NAME);
+		for (Field field : fields) {
+			if (!Modifier.isStatic(field.getModifiers()) && !found.containsKey(field.getName())) {
+				ReflectiveProperty property = ReflectiveProperty.of(field);
+				if (property != null) {
+					found.put(field.getName(), property);
+				}
+			}
+		}
+		return Collections.unmodifiableList(new ArrayList<ReflectiveProperty>(found.values()));
+	}
+
+	/** @return "foo" for a <code>getFoo()</code>/<code>isFoo()</code> method, otherwise null */
+	private static String propertyName(Method method) {
+		if (Modifier.isStatic(method.getModifiers())
+			|| method.isBridge()
+			|| method.getParameterTypes().length != 0
+			|| method.getReturnType() == void.class
+			|| method.getDeclaringClass() == Object.class) {
+			return null;
+		}
+		String name = method.getName();
+		if (name.startsWith("get") && name.length() > 3) {
+			return decapitalize(name.substring(3));
+		} else if (name.startsWith("is") && name.length() > 2 && method.getReturnType() == boolean.class) {
+			return decapitalize(name.substring(2));
+		}
+		return null;
+	}
+
+	private static Method findSetter(Class<?> type, String name, Class<?> propertyType) {
+		try {
+			Method setter = type.getMethod("set" + Character.toUpperCase(name.charAt(0)) + name.substring(1), propertyType);
+			return Modifier.isStatic(setter.getModifiers()) ? null : setter;
+		} catch (NoSuchMethodException nsme) {
+			return null;
+		}
+	}
+
+	private static String decapitalize(String name) {
+		return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+	}
+
+}
@@ -0,0 +1,127 @@
+package org.bindgen.runtime;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/** A getter/setter pair or a field of a class, with {@link MethodHandle}s for them looked up once and reused. */
+class ReflectiveProperty {
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+	private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+	private final String name;
+	private final Class<?> type;
+	/** <code>(Object)Object</code> */
+	private final MethodHandle getter;
+	/** <code>(Object,Object)void</code>, or <code>null</code> if the property is read only */
+	private final MethodHandle setter;
+
+	private ReflectiveProperty(String name, Class<?> type, MethodHandle getter, MethodHandle setter) {
+		this.name = name;
+		this.type = boxed(type);
+		this.getter = getter;
+		this.setter = setter;
+	}
+
+	/** @return the property, read only if <code>setter</code> is null or not accessible, or null if <code>getter</code> is not accessible */
+	static ReflectiveProperty of(String name, Method getter, Method setter) {
+		MethodHandle get = null;
+		MethodHandle set = null;
+		try {
+			if (accessible(getter)) {
+				get = LOOKUP.unreflect(getter).asType(GETTER);
+			}
+			if (setter != null && accessible(setter)) {
+				set = LOOKUP.unreflect(setter).asType(SETTER);
+			}
+		} catch (IllegalAccessException iae) {
+			// leave whatever was not found null
+		}
+		return get == null ? null : new ReflectiveProperty(name, getter.getReturnType(), get, set);
+	}
+
+	/** @return the property, read only if <code>field</code> is final, or null if <code>field</code> is not accessible */
+	static ReflectiveProperty of(Field field) {
+		if (!accessible(field)) {
+			return null;
+		}
+		try {
+			MethodHandle get = LOOKUP.unreflectGetter(field).asType(GETTER);
+			MethodHandle set = Modifier.isFinal(field.getModifiers()) ? null : LOOKUP.unreflectSetter(field).asType(SETTER);
+			return new ReflectiveProperty(field.getName(), field.getType(), get, set);
+		} catch (IllegalAccessException iae) {
+			return null;
+		}
+	}
+
+	String getName() {
+		return this.name;
+	}
+
+	Class<?> getType() {
+		return this.type;
+	}
+
+	boolean isReadOnly() {
+		return this.setter == null;
+	}
+
+	Object get(Object instance) {
+		try {
+			return (Object) this.getter.invokeExact(instance);
+		} catch (Throwable t) {
+			throw unchecked(t);
+		}
+	}
+
+	void set(Object instance, Object value) {
+		if (this.isReadOnly()) {
+			throw new RuntimeException(this.name + " is read only");
+		}
+		try {
+			this.setter.invokeExact(instance, value);
+		} catch (Throwable t) {
+			throw unchecked(t);
+		}
+	}
+
+	/**
+	 * Public members of public classes need no help. Others, e.g. public methods of non-public classes,
+	 * are made accessible, which can fail, e.g. for a package that is not open on JDK 16+.
+	 *
+	 * @return whether <code>member</code> can be looked up
+	 */
+	private static <M extends AccessibleObject & Member> boolean accessible(M member) {
+		if (Modifier.isPublic(member.getModifiers()) && Modifier.isPublic(member.getDeclaringClass().getModifiers())) {
+			return true;
+		}
+		try {
+			member.setAccessible(true);
+			return true;
+		} catch (RuntimeException re) {
+			// InaccessibleObjectException on JDK 9+, or SecurityException
+			return false;
+		}
+	}
+
+	private static RuntimeException unchecked(Throwable t) {
+		if (t instanceof RuntimeException) {
+			return (RuntimeException) t;
+		} else if (t instanceof Error) {
+			throw (Error) t;
+		}
+		return new RuntimeException(t);
+	}
+
+	/** @return the wrapper type of <code>type</code> if it is primitive */
+	private static Class<?> boxed(Class<?> type) {
+		return MethodType.methodType(type).wrap().returnType();
+	}
+
+}
@@ -0,0 +1,38 @@
+package org.bindgen.runtime;
+
+import static org.junit.Assert.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+
+import org.bindgen.Binding;
+import org.bindgen.BindingRoot;
+import org.bindgen.processor.AbstractBindgenTestCase;
+import org.junit.Test;
+
+public class BindingHandlesTest extends AbstractBindgenTestCase {
+
+	@Test
+	public void testGetterAndSetterHandles() throws Throwable {
+		ClassLoader loader = this.compile(filePath("org.bindgen.processor.basic.Address"), filePath("org.bindgen.processor.basic.Person"));
+
+		Class<?> personClass = loader.loadClass("org.bindgen.processor.basic.Person");
+		Class<?> addressClass = loader.loadClass("org.bindgen.processor.basic.Address");
+		Binding<?> paths = (Binding<?>) loader.loadClass("org.bindgen.processor.basic.PersonBinding").getField("PATHS").get(null);
+		BindingRoot<?, ?> city = (BindingRoot<?, ?>) paths.getChildBinding("address").getChildBinding("city");
+
+		MethodHandle getter = BindingHandles.getterHandle(city);
+		MethodHandle setter = BindingHandles.setterHandle(city);
+		assertEquals(MethodType.methodType(String.class, personClass), getter.type());
+		assertEquals(MethodType.methodType(void.class, personClass, String.class), setter.type());
+
+		Object person = personClass.newInstance();
+		assertNull(getter.invoke(person));
+		assertNull(getter.invoke((Object) null));
+
+		personClass.getField("address").set(person, addressClass.newInstance());
+		setter.invoke(person, "Omaha");
+		assertEquals("Omaha", getter.invoke(person));
+	}
+
+}
@@ -0,0 +1,62 @@
+package org.bindgen.runtime;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bindgen.Binding;
+import org.bindgen.BindingRoot;
+import org.bindgen.binding.GenericObjectBindingPath;
+import org.bindgen.processor.AbstractBindgenTestCase;
+import org.junit.After;
+import org.junit.Test;
+
+public class ReflectiveBindingFactoryTest extends AbstractBindgenTestCase {
+
+	@After
+	public void uninstall() {
+		GenericObjectBindingPath.setChildBindingFactory(null);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testChildBindingsForOutOfScopeProperty() throws Exception {
+		this.setAptProperty("scope", "org.bindgen.processor.scope");
+		ClassLoader loader = this.compile(filePath("org.bindgen.processor.scope.Person"), filePath("org.bindgen.processor.outofscope.Address"));
+		Class<?> personClass = loader.loadClass("org.bindgen.processor.scope.Person");
+		Class<?> addressClass = loader.loadClass("org.bindgen.processor.outofscope.Address");
+		Binding<?> paths = (Binding<?>) loader.loadClass("org.bindgen.processor.scope.PersonBinding").getField("PATHS").get(null);
+		assertTrue(paths.getChildBinding("address") instanceof GenericObjectBindingPath);
+		assertEquals(0, paths.getChildBinding("address").getChildBindings().size());
+
+		GenericObjectBindingPath.setChildBindingFactory(new ReflectiveBindingFactory());
+		// a new binding, as PATHS has already cached its empty children
+		Binding<?> address = ((Binding<?>) loader.loadClass("org.bindgen.processor.scope.PersonBinding").newInstance()).getChildBinding("address");
+		List<String> names = new ArrayList<String>();
+		for (Binding<?> child : address.getChildBindings()) {
+			names.add(child.getName());
+		}
+		// getters then fields, each by name
+		assertEquals("[city, zip, country, street]", names.toString());
+
+		BindingRoot<Object, Object> city = (BindingRoot<Object, Object>) address.getChildBinding("city");
+		assertEquals("address.city", city.getPath());
+		assertEquals(String.class, city.getType());
+		assertFalse(city.getIsReadOnly());
+		assertTrue(address.getChildBinding("zip").getIsReadOnly());
+		assertTrue(address.getChildBinding("country").getIsReadOnly());
+		assertFalse(address.getChildBinding("street").getIsReadOnly());
+
+		Object person = personClass.newInstance();
+		assertNull(city.getSafelyWithRoot(person));
+		personClass.getField("address").set(person, addressClass.newInstance());
+		city.setWithRoot(person, "Omaha");
+		assertEquals("Omaha", city.getWithRoot(person));
+		assertEquals("68102", ((BindingRoot<Object, Object>) address.getChildBinding("zip")).getWithRoot(person));
+		assertEquals("US", ((BindingRoot<Object, Object>) address.getChildBinding("country")).getWithRoot(person));
+		((BindingRoot<Object, Object>) address.getChildBinding("street")).setWithRoot(person, "Main");
+		assertEquals("Main", addressClass.getField("street").get(personClass.getField("address").get(person)));
+	}
+
+}
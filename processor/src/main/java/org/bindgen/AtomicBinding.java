@@ -0,0 +1,61 @@
+package org.bindgen;
+
+/**
+ * A binding to a <code>volatile</code> field that can be updated atomically, generated when <code>atomicBindings=true</code>.
+ *
+ * @param R the type of the root object of the binding
+ * @param T the type of the leaf object of the binding
+ */
+public interface AtomicBinding<R, T> extends BindingRoot<R, T> {
+
+	/** @return whether the value was <code>expect</code> (<code>==</code> for objects) and so was set to <code>update</code> */
+	boolean compareAndSet(T expect, T update);
+
+	/**
+	 * @param root the explicit root to use for traversing the path
+	 * @return whether the value was <code>expect</code> (<code>==</code> for objects) and so was set to <code>update</code>
+	 */
+	boolean compareAndSetWithRoot(R root, T expect, T update);
+
+	/** @return the old value, after setting it to <code>value</code> */
+	T getAndSet(T value);
+
+	/**
+	 * @param root the explicit root to use for traversing the path
+	 * @return the old value, after setting it to <code>value</code>
+	 */
+	T getAndSetWithRoot(R root, T value);
+
+	/** @return the old value, after setting it to <code>update</code> applied to it, retrying if another thread changed it meanwhile */
+	T getAndUpdate(Update<T> update);
+
+	/**
+	 * @param root the explicit root to use for traversing the path
+	 * @return the old value, after setting it to <code>update</code> applied to it, retrying if another thread changed it meanwhile
+	 */
+	T getAndUpdateWithRoot(R root, Update<T> update);
+
+	/** @return the value, read with (at least) acquire semantics */
+	T getAcquire();
+
+	/**
+	 * @param root the explicit root to use for traversing the path
+	 * @return the value, read with (at least) acquire semantics
+	 */
+	T getAcquireWithRoot(R root);
+
+	/** @param value the new value, written with release semantics, which may become visible to other threads later than with {@link #set(Object)} */
+	void setRelease(T value);
+
+	/**
+	 * @param root the explicit root to use for traversing the path
+	 * @param value the new value, written with release semantics, which may become visible to other threads later than with {@link #setWithRoot(Object, Object)}
+	 */
+	void setReleaseWithRoot(R root, T value);
+
+	/** A function for {@link AtomicBinding#getAndUpdate(Update)}, which may be called more than once. */
+	public static interface Update<T> {
+		T apply(T value);
+	}
+
+}
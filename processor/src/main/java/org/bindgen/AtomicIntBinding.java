@@ -0,0 +1,28 @@
+package org.bindgen;
+
+/**
+ * A binding to a <code>volatile int</code> field that can be updated atomically without boxing.
+ *
+ * @param R the type of the root object of the binding
+ */
+public interface AtomicIntBinding<R> extends AtomicBinding<R, Integer>, IntBinding<R> {
+
+	/** @return whether the value was <code>expect</code> and so was set to <code>update</code> */
+	boolean compareAndSetInt(int expect, int update);
+
+	/**
+	 * @param root the explicit root to use for traversing the path
+	 * @return whether the value was <code>expect</code> and so was set to <code>update</code>
+	 */
+	boolean compareAndSetIntWithRoot(R root, int expect, int update);
+
+	/** @return the old value, after adding <code>delta</code> to it */
+	int getAndAddInt(int delta);
+
+	/**
+	 * @param root the explicit root to use for traversing the path
+	 * @return the old value, after adding <code>delta</code> to it
+	 */
+	int getAndAddIntWithRoot(R root, int delta);
+
+}
@@ -0,0 +1,28 @@
+package org.bindgen;
+
+/**
+ * A binding to a <code>volatile long</code> field that can be updated atomically without boxing.
+ *
+ * @param R the type of the root object of the binding
+ */
+public interface AtomicLongBinding<R> extends AtomicBinding<R, Long>, LongBinding<R> {
+
+	/** @return whether the value was <code>expect</code> and so was set to <code>update</code> */
+	boolean compareAndSetLong(long expect, long update);
+
+	/**
+	 * @param root the explicit root to use for traversing the path
+	 * @return whether the value was <code>expect</code> and so was set to <code>update</code>
+	 */
+	boolean compareAndSetLongWithRoot(R root, long expect, long update);
+
+	/** @return the old value, after adding <code>delta</code> to it */
+	long getAndAddLong(long delta);
+
+	/**
+	 * @param root the explicit root to use for traversing the path
+	 * @return the old value, after adding <code>delta</code> to it
+	 */
+	long getAndAddLongWithRoot(R root, long delta);
+
+}
@@ -6,6 +6,9 @@ import java.util.List;
 /**
  * Interface for a property (field or method) binding.
  *
+ * Methods are added to this interface and {@link BindingRoot} as bindgen grows, so hand-written
+ * bindings should extend {@link org.bindgen.binding.AbstractBinding}, which has a default for each.
+ *
  * @param T the type of the leaf object of the binding
  */
 public interface Binding<T> extends NamedBinding, Serializable {
@@ -19,12 +22,29 @@ public interface Binding<T> extends NamedBinding, Serializable {
 	/** @return the type <code>T</code> for this binding */
 	Class<?> getType();
 
+	/** @return whether {@link #set(Object)} always fails, e.g. for a final field or a getter without a setter */
+	boolean getIsReadOnly();
+
+	/** @return the value for this binding read from {@code parent}, the value of {@link #getParentBinding()}, e.g. parent.getFoo() if we are foo in binding.parent().foo() */
+	T getFromParent(Object parent);
+
 	/** @return the parent binding, e.g. parent if we are foo in binding.parent().foo() */
 	Binding<?> getParentBinding();
 
-	/** @return the bindings of the attributes for our current instance. */
+	/** @return the bindings of the attributes for our current instance, as an unmodifiable list */
 	List<Binding<?>> getChildBindings();
 
+	/**
+	 * Visits this binding and, depth-first, its child bindings.
+	 *
+	 * @param visitor the visitor to call for each binding
+	 * @param maxDepth how many levels of children to visit, e.g. 0 for just this binding
+	 */
+	void accept(BindingVisitor visitor, int maxDepth);
+
+	/** @return the binding of the attribute {@code name}, e.g. foo for {@code getChildBinding("foo")}, or {@code null} if there is none */
+	Binding<?> getChildBinding(String name);
+
 	/** @return an OGNL-like String representation of the binding. */
 	String getPath();
 
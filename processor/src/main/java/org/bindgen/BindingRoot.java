@@ -1,5 +1,7 @@
 package org.bindgen;
 
+import java.util.List;
+
 /**
  * Interface for a property (field or method) binding.
  * 
@@ -14,10 +16,42 @@ public interface BindingRoot<R, T> extends Binding<T> {
 	 */
 	T getWithRoot(R root);
 
+	/**
+	 * @param root the explicit root to use for traversing the path
+	 * @return the value for this binding when evaluated against <code>root</code>, or {@code null} if a parent path's value is {@code null}
+	 */
+	T getSafelyWithRoot(R root);
+
 	/**
 	 * @param root the explicit root to use for traversing the path
 	 * @param value the new value for this binding
 	 */
 	void setWithRoot(R root, T value);
 
+	/**
+	 * @param roots the explicit roots to use for traversing the path
+	 * @param out the array to put each root's value in, at least <code>roots.size()</code> long
+	 */
+	void getAllWithRoots(List<R> roots, T[] out);
+
+	/**
+	 * @param roots the explicit roots to use for traversing the path
+	 * @param values the new value for each root, at least <code>roots.size()</code> long
+	 */
+	void setAllWithRoots(List<R> roots, T[] values);
+
+	/**
+	 * @param root the explicit root to use for traversing the path
+	 * @param ordinal the index of the child binding, as in {@link #getChildBindings()}
+	 * @return the value of that child binding when evaluated against <code>root</code>
+	 */
+	Object getByOrdinal(R root, int ordinal);
+
+	/**
+	 * @param root the explicit root to use for traversing the path
+	 * @param ordinal the index of the child binding, as in {@link #getChildBindings()}
+	 * @param value the new value for that child binding
+	 */
+	void setByOrdinal(R root, int ordinal, Object value);
+
 }
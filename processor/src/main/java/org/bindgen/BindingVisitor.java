@@ -0,0 +1,17 @@
+package org.bindgen;
+
+/**
+ * Callback for walking a tree of bindings with {@link Binding#accept(BindingVisitor, int)}.
+ *
+ * Bindings are visited depth-first, parents before their children.
+ */
+public interface BindingVisitor {
+
+	/**
+	 * @param binding the binding being visited
+	 * @param depth 0 for the binding <code>accept</code> was called on, 1 for its children, etc.
+	 * @return whether to visit the children of <code>binding</code>
+	 */
+	boolean visit(Binding<?> binding, int depth);
+
+}
@@ -0,0 +1,34 @@
+package org.bindgen;
+
+/**
+ * A binding to a primitive <code>boolean</code> property that can be read and written without boxing.
+ *
+ * @param R the type of the root object of the binding
+ */
+public interface BooleanBinding<R> extends BindingRoot<R, Boolean> {
+
+	/** @return the value for this binding */
+	boolean getBoolean();
+
+	/** @param value the new value for this binding */
+	void setBoolean(boolean value);
+
+	/**
+	 * @param root the explicit root to use for traversing the path
+	 * @return the value for this binding when evaluated against <code>root</code>
+	 */
+	boolean getBooleanWithRoot(R root);
+
+	/**
+	 * @param parent the value of {@link #getParentBinding()}
+	 * @return the value for this binding read from <code>parent</code>, like {@link #getFromParent(Object)} but without boxing
+	 */
+	boolean getBooleanFromParent(Object parent);
+
+	/**
+	 * @param root the explicit root to use for traversing the path
+	 * @param value the new value for this binding
+	 */
+	void setBooleanWithRoot(R root, boolean value);
+
+}
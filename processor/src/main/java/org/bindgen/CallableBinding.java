@@ -0,0 +1,20 @@
+package org.bindgen;
+
+/**
+ * A method callable binding, e.g. {@code FooBinding.bar()} wrapping a <code>void bar()</code> into a {@link Runnable}.
+ *
+ * Besides invoking the method on the binding's current value, the block type <code>B</code> can be bound
+ * to an explicit root, e.g. to invoke it through a stateless {@code FooBinding.PATHS} for many roots.
+ *
+ * @param R the type of the root object of the binding
+ * @param B the block type the method is wrapped into, e.g. {@link Runnable}
+ */
+public interface CallableBinding<R, B> extends NamedBinding {
+
+	/**
+	 * @param root the explicit root to use for traversing the path
+	 * @return a block that invokes the method on the value of our path evaluated against <code>root</code>
+	 */
+	B getWithRoot(R root);
+
+}
@@ -0,0 +1,34 @@
+package org.bindgen;
+
+/**
+ * A binding to a primitive <code>double</code> property that can be read and written without boxing.
+ *
+ * @param R the type of the root object of the binding
+ */
+public interface DoubleBinding<R> extends BindingRoot<R, Double> {
+
+	/** @return the value for this binding */
+	double getDouble();
+
+	/** @param value the new value for this binding */
+	void setDouble(double value);
+
+	/**
+	 * @param root the explicit root to use for traversing the path
+	 * @return the value for this binding when evaluated against <code>root</code>
+	 */
+	double getDoubleWithRoot(R root);
+
+	/**
+	 * @param parent the value of {@link #getParentBinding()}
+	 * @return the value for this binding read from <code>parent</code>, like {@link #getFromParent(Object)} but without boxing
+	 */
+	double getDoubleFromParent(Object parent);
+
+	/**
+	 * @param root the explicit root to use for traversing the path
+	 * @param value the new value for this binding
+	 */
+	void setDoubleWithRoot(R root, double value);
+
+}
@@ -0,0 +1,11 @@
+package org.bindgen;
+
+/**
+ * Interface to denote a binding that reads its value from any value of its parent with {@link Binding#getFromParent(Object)}, e.g. a generated property binding.
+ *
+ * {@link org.bindgen.binding.RowEvaluator} only reads the paths below a shared getter through bindings like these,
+ * and evaluates any other binding, e.g. a hand-written one, from the root.
+ */
+public interface FromParentBinding {
+
+}
@@ -0,0 +1,11 @@
+package org.bindgen;
+
+/**
+ * Interface to denote a binding whose value is read by calling a method, e.g. a getter, rather than by reading a field.
+ *
+ * Calling the method may do real work, e.g. compute a total or load a lazy collection, so
+ * {@link org.bindgen.binding.RowEvaluator} reads it once for all of the paths that go through it.
+ */
+public interface GetterBinding {
+
+}
@@ -0,0 +1,34 @@
+package org.bindgen;
+
+/**
+ * A binding to a primitive <code>int</code> property that can be read and written without boxing.
+ *
+ * @param R the type of the root object of the binding
+ */
+public interface IntBinding<R> extends BindingRoot<R, Integer> {
+
+	/** @return the value for this binding */
+	int getInt();
+
+	/** @param value the new value for this binding */
+	void setInt(int value);
+
+	/**
+	 * @param root the explicit root to use for traversing the path
+	 * @return the value for this binding when evaluated against <code>root</code>
+	 */
+	int getIntWithRoot(R root);
+
+	/**
+	 * @param parent the value of {@link #getParentBinding()}
+	 * @return the value for this binding read from <code>parent</code>, like {@link #getFromParent(Object)} but without boxing
+	 */
+	int getIntFromParent(Object parent);
+
+	/**
+	 * @param root the explicit root to use for traversing the path
+	 * @param value the new value for this binding
+	 */
+	void setIntWithRoot(R root, int value);
+
+}
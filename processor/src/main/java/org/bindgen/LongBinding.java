@@ -0,0 +1,34 @@
+package org.bindgen;
+
+/**
+ * A binding to a primitive <code>long</code> property that can be read and written without boxing.
+ *
+ * @param R the type of the root object of the binding
+ */
+public interface LongBinding<R> extends BindingRoot<R, Long> {
+
+	/** @return the value for this binding */
+	long getLong();
+
+	/** @param value the new value for this binding */
+	void setLong(long value);
+
+	/**
+	 * @param root the explicit root to use for traversing the path
+	 * @return the value for this binding when evaluated against <code>root</code>
+	 */
+	long getLongWithRoot(R root);
+
+	/**
+	 * @param parent the value of {@link #getParentBinding()}
+	 * @return the value for this binding read from <code>parent</code>, like {@link #getFromParent(Object)} but without boxing
+	 */
+	long getLongFromParent(Object parent);
+
+	/**
+	 * @param root the explicit root to use for traversing the path
+	 * @param value the new value for this binding
+	 */
+	void setLongWithRoot(R root, long value);
+
+}
@@ -1,10 +1,12 @@
 package org.bindgen.binding;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.bindgen.Binding;
 import org.bindgen.BindingRoot;
+import org.bindgen.BindingVisitor;
 
 /**
  * A base implementation of {@link BindingRoot} to hold the starting
@@ -14,6 +16,9 @@ public abstract class AbstractBinding<R, T> implements BindingRoot<R, T> {
 
 	private static final long serialVersionUID = 1L;
 	protected T _value;
+	/** Our parent chain is fixed once built, so the path is computed just once. */
+	private transient String _path;
+	private transient String _simpleName;
 
 	@Override
 	public T get() {
@@ -25,14 +30,106 @@ public abstract class AbstractBinding<R, T> implements BindingRoot<R, T> {
 		this._value = value;
 	}
 
+	/** Generated property bindings override this if they cannot be set. */
+	@Override
+	public boolean getIsReadOnly() {
+		return false;
+	}
+
+	/**
+	 * Reads children of a root binding, whose parent value is a root, with {@link #getWithRoot(Object)};
+	 * generated property bindings override this to read any level from its parent's value.
+	 *
+	 * @throws UnsupportedOperationException for root bindings, which have no parent, and deeper bindings that do not override this
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public T getFromParent(Object parent) {
+		Binding<?> parentBinding = this.getParentBinding();
+		if (parentBinding == null || parentBinding.getParentBinding() != null) {
+			throw new UnsupportedOperationException(this.getClass().getName() + " does not support getFromParent");
+		}
+		return this.getWithRoot((R) parent);
+	}
+
+	/**
+	 * Checks our parent null-safely, then evaluates our whole path; generated property bindings
+	 * override this to read each level of the path just once.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public T getSafelyWithRoot(R root) {
+		Binding<?> parent = this.getParentBinding();
+		if (parent != null && ((BindingRoot<R, ?>) parent).getSafelyWithRoot(root) == null) {
+			return null;
+		}
+		return this.getWithRoot(root);
+	}
+
 	@Override
 	public void setWithRoot(R root, T value) {
 		throw new RuntimeException("Should be overridden by a field/method-specific binding.");
 	}
 
+	/** Evaluates each root in turn; generated bindings override this to evaluate their parent for all roots first. */
+	@Override
+	public void getAllWithRoots(List<R> roots, T[] out) {
+		int i = 0;
+		for (R root : roots) {
+			out[i++] = this.getWithRoot(root);
+		}
+	}
+
+	@Override
+	public void setAllWithRoots(List<R> roots, T[] values) {
+		int i = 0;
+		for (R root : roots) {
+			this.setWithRoot(root, values[i++]);
+		}
+	}
+
+	/** Goes through {@link #getChildBindings()}; generated bindings override this with a switch. */
+	@Override
+	@SuppressWarnings("unchecked")
+	public Object getByOrdinal(R root, int ordinal) {
+		return ((BindingRoot<R, ?>) this.getChildBindings().get(ordinal)).getWithRoot(root);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void setByOrdinal(R root, int ordinal, Object value) {
+		((BindingRoot<R, Object>) this.getChildBindings().get(ordinal)).setWithRoot(root, value);
+	}
+
 	@Override
 	public List<Binding<?>> getChildBindings() {
-		return new ArrayList<Binding<?>>();
+		return Collections.emptyList();
+	}
+
+	@Override
+	public void accept(BindingVisitor visitor, int maxDepth) {
+		accept(this, visitor, 0, maxDepth);
+	}
+
+	/** Walks with an index instead of an iterator so the traversal itself does not allocate. */
+	private static void accept(Binding<?> binding, BindingVisitor visitor, int depth, int maxDepth) {
+		if (visitor.visit(binding, depth) && depth < maxDepth) {
+			List<Binding<?>> children = binding.getChildBindings();
+			for (int i = 0; i < children.size(); i++) {
+				accept(children.get(i), visitor, depth + 1, maxDepth);
+			}
+		}
+	}
+
+	/** Searches {@link #getChildBindings()}; generated bindings override this to look the name up directly. */
+	@Override
+	public Binding<?> getChildBinding(String name) {
+		for (Binding<?> child : this.getChildBindings()) {
+			if (child.getName().equals(name)) {
+				return child;
+			}
+		}
+		return null;
 	}
 
 	@Override
@@ -40,39 +137,78 @@ public abstract class AbstractBinding<R, T> implements BindingRoot<R, T> {
 		return null;
 	}
 
+	/**
+	 * Serializes property bindings of stateless roots, e.g. {@code PATHS}, as their root binding and the
+	 * names along their path, instead of their whole parent chain, and resolves them again with
+	 * {@link Binding#getChildBinding(String)}. Bindings of bound roots keep the default form, so their
+	 * value is written as well.
+	 */
+	protected Object writeReplace() {
+		List<String> names = new ArrayList<String>();
+		Binding<?> current = this;
+		while (current.getParentBinding() != null) {
+			if (current.getParentBinding().getChildBinding(current.getName()) != current) {
+				return this; // e.g. flat paths, which only their root knows about
+			}
+			names.add(0, current.getName());
+			current = current.getParentBinding();
+		}
+		if (names.isEmpty() || current.get() != null) {
+			return this;
+		}
+		return new SerializedBinding(current, names.toArray(new String[names.size()]));
+	}
+
 	@Override
 	public String toString() {
-		if (this.getParentBinding() == null) {
-			// This is kind of lame, but GWT doesn't support getSimpleName, so use getName
-			String className = this.getClass().getName();
-			String simpleName = className.substring(className.lastIndexOf(".") + 1);
-			return simpleName + "(" + this.get() + ")";
+		StringBuilder sb = new StringBuilder();
+		this.appendTo(sb);
+		return sb.toString();
+	}
+
+	/** Appends our {@link #toString()} to {@code sb} so a whole path shares one buffer. */
+	private void appendTo(StringBuilder sb) {
+		Binding<?> parent = this.getParentBinding();
+		if (parent == null) {
+			if (this._simpleName == null) {
+				// This is kind of lame, but GWT doesn't support getSimpleName, so use getName
+				String className = this.getClass().getName();
+				this._simpleName = className.substring(className.lastIndexOf(".") + 1);
+			}
+			sb.append(this._simpleName).append('(').append(this.get()).append(')');
 		} else {
+			if (parent instanceof AbstractBinding<?, ?>) {
+				((AbstractBinding<?, ?>) parent).appendTo(sb);
+			} else {
+				sb.append(parent.toString());
+			}
 			Object value = this.getIsSafe() ? this.get() : "";
-			return this.getParentBinding().toString() + "." + this.getName() + "(" + value + ")";
+			sb.append('.').append(this.getName()).append('(').append(value).append(')');
 		}
 	}
 
+	/**
+	 * Generated bindings override {@link #getSafely()} to evaluate their parent's
+	 * {@code getSafely} just once, so this walks the path once instead of re-evaluating
+	 * each parent's whole path at each level.
+	 */
 	@Override
 	public boolean getIsSafe() {
-		if (this.getParentBinding() == null) {
-			return true;
-		} else if (this.getParentBinding().getIsSafe()) {
-			return this.getParentBinding().get() != null;
-		} else {
-			return false;
-		}
+		return this.getParentBinding() == null || this.getParentBinding().getSafely() != null;
 	}
 
 	@Override
 	public String getPath() {
-		if (this.getParentBinding() == null) {
-			return "#root";
-		} else if (this.getParentBinding().getParentBinding() == null) {
-			return this.getName();
-		} else {
-			return this.getParentBinding().getPath() + "." + this.getName();
+		if (this._path == null) {
+			if (this.getParentBinding() == null) {
+				this._path = "#root";
+			} else if (this.getParentBinding().getParentBinding() == null) {
+				this._path = this.getName();
+			} else {
+				this._path = this.getParentBinding().getPath() + "." + this.getName();
+			}
 		}
+		return this._path;
 	}
 
 	@Override
@@ -0,0 +1,132 @@
+package org.bindgen.binding;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.bindgen.Binding;
+import org.bindgen.BindingRoot;
+
+/**
+ * Copies values from an <code>S</code> to a <code>T</code> through pairs of stateless bindings.
+ *
+ * The pairs are either added explicitly or matched by name and (erased) type from the generated
+ * child bindings, recursing into properties of different types that have children of their own,
+ * e.g. an entity's {@code Employer} and a DTO's {@code EmployerSummary}:
+ *
+ * <code>
+ *     BindingMapper&lt;Employee, EmployeeSummary&gt; mapper = new BindingMapper&lt;Employee, EmployeeSummary&gt;()
+ *         .addMatching(EmployeeBinding.PATHS, EmployeeSummaryBinding.PATHS)
+ *         .add(EmployeeBinding.PATHS.employer().name(), EmployeeSummaryBinding.PATHS.employerName());
+ *     mapper.map(employee, summary);
+ * </code>
+ *
+ * Mapping is then just a <code>getWithRoot</code>/<code>setWithRoot</code> per pair, without any
+ * lookups. Nested values, e.g. {@code employer.name}, are only copied when both the source and
+ * the target objects holding them exist, as the mapper cannot create them.
+ *
+ * Once built, a {@link BindingMapper} only reads its pairs, so it can be shared, including across threads.
+ *
+ * @param <S> type of the source root object
+ * @param <T> type of the target root object
+ */
+public class BindingMapper<S, T> {
+
+	private final List<BindingRoot<S, ?>> from = new ArrayList<BindingRoot<S, ?>>();
+	private final List<BindingRoot<T, Object>> to = new ArrayList<BindingRoot<T, Object>>();
+	/** For each pair, the source's parent binding, or null if it is the root. */
+	private final List<BindingRoot<S, ?>> fromParents = new ArrayList<BindingRoot<S, ?>>();
+	/** For each pair, the target's parent binding, or null if it is the root. */
+	private final List<BindingRoot<T, ?>> toParents = new ArrayList<BindingRoot<T, ?>>();
+
+	/**
+	 * @param from a stateless binding to read from the source
+	 * @param to a stateless binding to write to the target
+	 * @return this mapper
+	 */
+	@SuppressWarnings("unchecked")
+	public <V> BindingMapper<S, T> add(BindingRoot<S, ? extends V> from, BindingRoot<T, V> to) {
+		this.from.add(from);
+		this.to.add((BindingRoot<T, Object>) to);
+		this.fromParents.add(parentUnlessRoot(from));
+		this.toParents.add(parentUnlessRoot(to));
+		return this;
+	}
+
+	/**
+	 * Adds a pair for each writable child of <code>target</code> with a child of the same name and type in
+	 * <code>source</code>, recursing into same-named children of different types.
+	 *
+	 * @param source a stateless binding rooted at an <code>S</code>, e.g. {@code EmployeeBinding.PATHS}
+	 * @param target a stateless binding rooted at a <code>T</code>, e.g. {@code EmployeeSummaryBinding.PATHS}
+	 * @return this mapper
+	 */
+	public BindingMapper<S, T> addMatching(BindingRoot<S, ?> source, BindingRoot<T, ?> target) {
+		this.addMatching(source, target, new ArrayList<Class<?>>());
+		return this;
+	}
+
+	/** @return the paths of the target bindings, e.g. {@code employer.name}, in the order they are set */
+	public List<String> getMappedPaths() {
+		List<String> paths = new ArrayList<String>();
+		for (Binding<?> to : this.to) {
+			paths.add(to.getPath());
+		}
+		return Collections.unmodifiableList(paths);
+	}
+
+	/** Copies each pair's value from <code>source</code> to <code>target</code>. */
+	public void map(S source, T target) {
+		for (int i = 0; i < this.from.size(); i++) {
+			if (isMissing(this.fromParents.get(i), source) || isMissing(this.toParents.get(i), target)) {
+				continue;
+			}
+			this.to.get(i).setWithRoot(target, this.from.get(i).getWithRoot(source));
+		}
+	}
+
+	/** @param types the source/target type pairs being matched above us, to not recurse forever through cycles */
+	@SuppressWarnings("unchecked")
+	private void addMatching(Binding<?> source, Binding<?> target, List<Class<?>> types) {
+		List<Binding<?>> children = target.getChildBindings();
+		for (int i = 0; i < children.size(); i++) {
+			Binding<?> to = children.get(i);
+			Binding<?> from = source.getChildBinding(to.getName());
+			if (from == null || from.getType() == null || to.getType() == null) {
+				continue;
+			}
+			if (from.getType() == to.getType()) {
+				if (!to.getIsReadOnly()) {
+					this.add((BindingRoot<S, Object>) from, (BindingRoot<T, Object>) to);
+				}
+			} else if (!isMatching(types, from.getType(), to.getType())) {
+				types.add(from.getType());
+				types.add(to.getType());
+				this.addMatching(from, to, types);
+				types.remove(types.size() - 1);
+				types.remove(types.size() - 1);
+			}
+		}
+	}
+
+	private static boolean isMatching(List<Class<?>> types, Class<?> from, Class<?> to) {
+		for (int i = 0; i < types.size(); i += 2) {
+			if (types.get(i) == from && types.get(i + 1) == to) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <R> BindingRoot<R, ?> parentUnlessRoot(BindingRoot<R, ?> binding) {
+		Binding<?> parent = binding.getParentBinding();
+		return parent == null || parent.getParentBinding() == null ? null : (BindingRoot<R, ?>) parent;
+	}
+
+	/** @return whether <code>parent</code>, if any, evaluates to null, so its child cannot be read or written */
+	private static <R> boolean isMissing(BindingRoot<R, ?> parent, R root) {
+		return parent != null && parent.getSafelyWithRoot(root) == null;
+	}
+
+}
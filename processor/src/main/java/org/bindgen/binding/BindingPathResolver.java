@@ -0,0 +1,79 @@
+package org.bindgen.binding;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.bindgen.Binding;
+import org.bindgen.BindingRoot;
+
+/**
+ * Resolves dotted path strings, e.g. {@code "employer.name"}, to bindings rooted at an <code>R</code>.
+ *
+ * This is the inverse of {@link Binding#getPath()}, for code that only has the path as a string
+ * (e.g. from a template). Each path is walked once with {@link Binding#getChildBinding(String)}
+ * and the result is cached, so resolving a path again is just a map lookup:
+ *
+ * <code>
+ *     BindingPathResolver&lt;Employee&gt; resolver = new BindingPathResolver&lt;Employee&gt;(new EmployeeBinding());
+ *     String name = (String) resolver.resolve("employer.name").getWithRoot(employee);
+ * </code>
+ *
+ * The resolved bindings are evaluated with <code>getWithRoot</code>/<code>setWithRoot</code>,
+ * so one resolver can be shared, including across threads. Only resolving a new path takes a lock.
+ *
+ * @param <R> type of root object
+ */
+public class BindingPathResolver<R> {
+
+	private final BindingRoot<R, R> root;
+	/** Copied on write, so resolving an already-resolved path does not take a lock. */
+	private volatile Map<String, BindingRoot<R, ?>> resolved = new HashMap<String, BindingRoot<R, ?>>();
+
+	/** @param root a root binding, e.g. {@code new EmployeeBinding()}, that is only evaluated with explicit roots */
+	public BindingPathResolver(BindingRoot<R, R> root) {
+		this.root = root;
+	}
+
+	/**
+	 * @param path a dotted path as returned by {@link Binding#getPath()}, or {@code "#root"}
+	 * @return the binding for <code>path</code>
+	 * @throws IllegalArgumentException if a part of the path has no binding
+	 */
+	public BindingRoot<R, ?> resolve(String path) {
+		BindingRoot<R, ?> binding = this.resolved.get(path);
+		return binding != null ? binding : this.resolveAndCache(path);
+	}
+
+	@SuppressWarnings("unchecked")
+	private synchronized BindingRoot<R, ?> resolveAndCache(String path) {
+		BindingRoot<R, ?> binding = this.resolved.get(path);
+		if (binding == null) {
+			Binding<?> current = this.root;
+			if (!"#root".equals(path)) {
+				for (String name : path.split("\\.")) {
+					current = current.getChildBinding(name);
+					if (current == null) {
+						throw new IllegalArgumentException("No binding for " + name + " in " + path);
+					}
+				}
+			}
+			binding = (BindingRoot<R, ?>) current;
+			Map<String, BindingRoot<R, ?>> copy = new HashMap<String, BindingRoot<R, ?>>(this.resolved);
+			copy.put(path, binding);
+			this.resolved = copy;
+		}
+		return binding;
+	}
+
+	/** @return the value of <code>path</code> evaluated against <code>root</code> */
+	public Object getWithRoot(R root, String path) {
+		return this.resolve(path).getWithRoot(root);
+	}
+
+	/** Sets the value of <code>path</code> evaluated against <code>root</code>. */
+	@SuppressWarnings("unchecked")
+	public void setWithRoot(R root, String path, Object value) {
+		((BindingRoot<R, Object>) this.resolve(path)).setWithRoot(root, value);
+	}
+
+}
@@ -0,0 +1,21 @@
+package org.bindgen.binding;
+
+import java.util.List;
+
+import org.bindgen.Binding;
+import org.bindgen.BindingRoot;
+
+/**
+ * Creates the child bindings of a {@link GenericObjectBindingPath}, i.e. of a type without a generated binding.
+ *
+ * @see GenericObjectBindingPath#setChildBindingFactory(ChildBindingFactory)
+ */
+public interface ChildBindingFactory {
+
+	/**
+	 * @param parent the binding to create children for, whose value is a <code>parent.getType()</code>
+	 * @return the child bindings, evaluated through <code>parent</code>
+	 */
+	<R> List<Binding<?>> newChildBindings(BindingRoot<R, ?> parent);
+
+}
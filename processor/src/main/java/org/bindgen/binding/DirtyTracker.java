@@ -0,0 +1,249 @@
+package org.bindgen.binding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.bindgen.Binding;
+import org.bindgen.BindingRoot;
+import org.bindgen.BooleanBinding;
+import org.bindgen.DoubleBinding;
+import org.bindgen.IntBinding;
+import org.bindgen.LongBinding;
+
+/**
+ * Tracks which properties of a binding tree changed since a {@link Snapshot} of their values.
+ *
+ * The tracked properties are the writable leaves of the tree, found once from the generated
+ * child bindings, in their ordinal order. A writable property whose own properties are tracked,
+ * e.g. {@code employer} of an {@code Employee}, is tracked as well, by identity, so replacing it
+ * with an object with the same values still counts as a change:
+ *
+ * <code>
+ *     DirtyTracker&lt;Employee&gt; tracker = new DirtyTracker&lt;Employee&gt;(EmployeeBinding.PATHS, 2);
+ *     DirtyTracker.Snapshot before = tracker.snapshot(employee);
+ *     // ...edit employee...
+ *     List&lt;String&gt; changed = tracker.getChangedPaths(before, employee); // e.g. [employer, employer.name, name]
+ * </code>
+ *
+ * A snapshot keeps the root's own properties at their ordinals, as in the generated <code>PROPERTY_NAMES</code>,
+ * and reads them with {@link BindingRoot#getByOrdinal(Object, int)}, or unboxed for <code>int</code>,
+ * <code>long</code>, <code>double</code> and <code>boolean</code> properties. Deeper values are read with
+ * <code>getSafelyWithRoot</code>. Values other than references are compared with <code>equals</code>,
+ * so a collection changed in place is not noticed.
+ *
+ * A {@link DirtyTracker} only reads, so it can be shared, including across threads.
+ *
+ * @param <R> type of root object
+ */
+public class DirtyTracker<R> {
+
+	private static final int OBJECT = 0;
+	private static final int INT = 1;
+	private static final int LONG = 2;
+	private static final int DOUBLE = 3;
+	private static final int BOOLEAN = 4;
+	/** A writable property whose own properties are tracked too, compared by identity. */
+	private static final int REFERENCE = 5;
+	private final BindingRoot<R, ?> root;
+	private final List<Binding<?>> tracked = new ArrayList<Binding<?>>();
+	private final List<Binding<?>> references = new ArrayList<Binding<?>>();
+	private final int[] kinds;
+	/** For each tracked binding, its ordinal if it is one of the root's properties, else its index after them. */
+	private final int[] slots;
+	/** For each of the root's properties, the kind it is tracked as, or -1 if it is not tracked. */
+	private final int[] kindsByOrdinal;
+	private final int properties;
+	private final int objects;
+
+	/**
+	 * @param root a root binding, e.g. {@code EmployeeBinding.PATHS}, that is only evaluated with explicit roots
+	 * @param maxDepth how many levels of properties to track, e.g. 1 for just the root's own properties
+	 */
+	public DirtyTracker(BindingRoot<R, ?> root, int maxDepth) {
+		this.root = root;
+		this.addWritableLeaves(root, 0, maxDepth);
+		List<Binding<?>> ordinals = root.getChildBindings();
+		this.properties = ordinals.size();
+		int objects = this.properties;
+		this.kinds = new int[this.tracked.size()];
+		this.slots = new int[this.tracked.size()];
+		this.kindsByOrdinal = new int[this.properties];
+		Arrays.fill(this.kindsByOrdinal, -1);
+		for (int i = 0; i < this.kinds.length; i++) {
+			Binding<?> binding = this.tracked.get(i);
+			boolean property = binding.getParentBinding() == root;
+			if (this.references.contains(binding)) {
+				this.kinds[i] = REFERENCE;
+			} else if (property && binding instanceof IntBinding<?>) {
+				this.kinds[i] = INT;
+			} else if (property && binding instanceof LongBinding<?>) {
+				this.kinds[i] = LONG;
+			} else if (property && binding instanceof DoubleBinding<?>) {
+				this.kinds[i] = DOUBLE;
+			} else if (property && binding instanceof BooleanBinding<?>) {
+				this.kinds[i] = BOOLEAN;
+			} else {
+				this.kinds[i] = OBJECT;
+			}
+			if (property) {
+				this.slots[i] = ordinals.indexOf(binding);
+				this.kindsByOrdinal[this.slots[i]] = this.kinds[i];
+			} else {
+				this.slots[i] = objects++;
+			}
+		}
+		this.objects = objects;
+	}
+
+	/** @return the tracked bindings, in the order their changes are returned */
+	public List<Binding<?>> getTrackedBindings() {
+		return Collections.unmodifiableList(this.tracked);
+	}
+
+	/** @return the current values of the tracked bindings evaluated against <code>root</code> */
+	@SuppressWarnings("unchecked")
+	public Snapshot snapshot(R root) {
+		Snapshot snapshot = new Snapshot(this);
+		for (int i = 0; i < this.kinds.length; i++) {
+			BindingRoot<R, ?> binding = this.getTracked(i);
+			int slot = this.slots[i];
+			switch (this.kinds[i]) {
+				case INT:
+					snapshot.primitives[slot] = ((IntBinding<R>) binding).getIntWithRoot(root);
+					break;
+				case LONG:
+					snapshot.primitives[slot] = ((LongBinding<R>) binding).getLongWithRoot(root);
+					break;
+				case DOUBLE:
+					snapshot.doubles[slot] = ((DoubleBinding<R>) binding).getDoubleWithRoot(root);
+					break;
+				case BOOLEAN:
+					snapshot.primitives[slot] = ((BooleanBinding<R>) binding).getBooleanWithRoot(root) ? 1 : 0;
+					break;
+				default:
+					snapshot.objects[slot] = this.read(i, root);
+			}
+		}
+		return snapshot;
+	}
+
+	/** @return the tracked bindings whose value evaluated against <code>root</code> differs from <code>before</code> */
+	public List<Binding<?>> getChangedBindings(Snapshot before, R root) {
+		if (before.tracker != this) {
+			throw new IllegalArgumentException("Snapshot was taken by another tracker");
+		}
+		List<Binding<?>> changed = new ArrayList<Binding<?>>();
+		for (int i = 0; i < this.kinds.length; i++) {
+			if (this.hasChanged(i, before, root)) {
+				changed.add(this.tracked.get(i));
+			}
+		}
+		return changed;
+	}
+
+	/** @return the paths of {@link #getChangedBindings(Snapshot, Object)}, e.g. {@code employer.name} */
+	public List<String> getChangedPaths(Snapshot before, R root) {
+		List<String> paths = new ArrayList<String>();
+		for (Binding<?> binding : this.getChangedBindings(before, root)) {
+			paths.add(binding.getPath());
+		}
+		return paths;
+	}
+
+	@SuppressWarnings("unchecked")
+	private boolean hasChanged(int i, Snapshot before, R root) {
+		BindingRoot<R, ?> binding = this.getTracked(i);
+		int slot = this.slots[i];
+		switch (this.kinds[i]) {
+			case INT:
+				return before.primitives[slot] != ((IntBinding<R>) binding).getIntWithRoot(root);
+			case LONG:
+				return before.primitives[slot] != ((LongBinding<R>) binding).getLongWithRoot(root);
+			case DOUBLE:
+				return Double.compare(before.doubles[slot], ((DoubleBinding<R>) binding).getDoubleWithRoot(root)) != 0;
+			case BOOLEAN:
+				return (before.primitives[slot] == 1) != ((BooleanBinding<R>) binding).getBooleanWithRoot(root);
+			case REFERENCE:
+				return before.objects[slot] != this.read(i, root);
+			default:
+				Object value = this.read(i, root);
+				Object old = before.objects[slot];
+				return old == null ? value != null : !old.equals(value);
+		}
+	}
+
+	/** Reads the root's own properties through the generated ordinal switch, and deeper ones through their binding. */
+	private Object read(int i, R root) {
+		if (this.slots[i] < this.properties && root != null) {
+			return this.root.getByOrdinal(root, this.slots[i]);
+		}
+		return this.getTracked(i).getSafelyWithRoot(root);
+	}
+
+	@SuppressWarnings("unchecked")
+	private BindingRoot<R, ?> getTracked(int i) {
+		return (BindingRoot<R, ?>) this.tracked.get(i);
+	}
+
+	/** @return whether <code>binding</code> or any of its descendants, down to <code>maxDepth</code>, were tracked */
+	private boolean addWritableLeaves(Binding<?> binding, int depth, int maxDepth) {
+		int position = this.tracked.size();
+		boolean added = false;
+		if (depth < maxDepth) {
+			List<Binding<?>> children = binding.getChildBindings();
+			for (int i = 0; i < children.size(); i++) {
+				added |= this.addWritableLeaves(children.get(i), depth + 1, maxDepth);
+			}
+		}
+		if (depth > 0 && !binding.getIsReadOnly()) {
+			if (added) {
+				this.references.add(binding);
+			}
+			this.tracked.add(position, binding);
+			added = true;
+		}
+		return added;
+	}
+
+	/** The values of a {@link DirtyTracker}'s bindings at one point in time. */
+	public static class Snapshot {
+		private final DirtyTracker<?> tracker;
+		/** The root's properties at their ordinals, then the deeper properties. */
+		private final Object[] objects;
+		/** The root's <code>int</code>, <code>long</code> and <code>boolean</code> properties at their ordinals. */
+		private final long[] primitives;
+		/** The root's <code>double</code> properties at their ordinals. */
+		private final double[] doubles;
+
+		private Snapshot(DirtyTracker<?> tracker) {
+			this.tracker = tracker;
+			this.objects = new Object[tracker.objects];
+			this.primitives = new long[tracker.properties];
+			this.doubles = new double[tracker.properties];
+		}
+
+		/**
+		 * @param ordinal the ordinal of one of the root's properties, as in the generated <code>PROPERTY_NAMES</code>
+		 * @return that property's value when the snapshot was taken, or <code>null</code> if it is not tracked
+		 */
+		public Object getValue(int ordinal) {
+			switch (this.tracker.kindsByOrdinal[ordinal]) {
+				case -1:
+					return null;
+				case INT:
+					return Integer.valueOf((int) this.primitives[ordinal]);
+				case LONG:
+					return Long.valueOf(this.primitives[ordinal]);
+				case DOUBLE:
+					return Double.valueOf(this.doubles[ordinal]);
+				case BOOLEAN:
+					return Boolean.valueOf(this.primitives[ordinal] == 1);
+				default:
+					return this.objects[ordinal];
+			}
+		}
+	}
+
+}
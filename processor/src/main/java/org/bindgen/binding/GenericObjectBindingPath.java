@@ -15,6 +15,9 @@ import org.bindgen.Binding;
  * and {@code getWithRoot} methods will be defined by the {@code MyXxx}
  * concrete class.
  *
+ * It has no child bindings unless a {@link ChildBindingFactory} is installed,
+ * e.g. the reflection-based one in the {@code bindgen-handles} jar.
+ *
  * @author igor.vaynberg
  *
  * @param <R> type of root object
@@ -22,10 +25,24 @@ import org.bindgen.Binding;
 public abstract class GenericObjectBindingPath<R, T> extends AbstractBinding<R, T> {
 
 	private static final long serialVersionUID = 1L;
+	private static volatile ChildBindingFactory childBindingFactory;
+	private transient List<Binding<?>> _childBindings;
+
+	/** @param factory the factory to create the children of all generic object bindings with, or null for none */
+	public static void setChildBindingFactory(ChildBindingFactory factory) {
+		childBindingFactory = factory;
+	}
 
 	@Override
 	public List<Binding<?>> getChildBindings() {
-		return Collections.emptyList();
+		if (this._childBindings == null) {
+			ChildBindingFactory factory = childBindingFactory;
+			if (factory == null || this.getType() == null) {
+				return Collections.emptyList();
+			}
+			this._childBindings = Collections.unmodifiableList(factory.newChildBindings(this));
+		}
+		return this._childBindings;
 	}
 
 }
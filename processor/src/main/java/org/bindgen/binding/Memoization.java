@@ -0,0 +1,239 @@
+package org.bindgen.binding;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A scope for the values of memoized method bindings, configured with <code>memoizeAttribute.com.myapp.Foo.total=true</code>.
+ *
+ * A memoized method's value is cached per object it was called on, in the current scope, and shared by every
+ * binding of that method, e.g. by <code>PATHS</code> across rows and threads. It is kept until any field or setter
+ * is written through a generated binding, or the current scope's epoch moves on. So a value that depends on other
+ * objects, e.g. an order's total on its lines' prices, is invalidated by writing a line's price through a binding,
+ * but callers need to move the epoch on after changing objects other than through bindings:
+ *
+ * <code>
+ *     Memoization.nextEpoch();
+ *     BigDecimal total = b.order().total().get(); // calls getTotal()
+ *     total = b.order().total().get(); // cached
+ * </code>
+ *
+ * Writes through bindings invalidate values on every thread. Epochs are per scope, and by default all threads
+ * share one scope, so {@link #nextEpoch()} on any thread invalidates every thread's values. Installing {@link Scopes}
+ * such as <code>org.bindgen.runtime.PerThreadMemoization</code> gives each thread, e.g. each request, its own.
+ *
+ * With <code>memoizeWritesPerType=true</code>, generated writes instead only invalidate the values memoized on the
+ * type they write to and its subclasses, see {@link Type}.
+ */
+public class Memoization {
+
+	/** The number of cached values per scope, a power of two, in buckets of two. */
+	private static final int SIZE = 256;
+	private static final Scopes GLOBAL = new Scopes() {
+		private final Memoization scope = new Memoization();
+
+		public Memoization current() {
+			return this.scope;
+		}
+	};
+	private static Scopes scopes = GLOBAL;
+	private static final Map<String, Key> keys = new HashMap<String, Key>();
+	private static final Map<String, Type> types = new HashMap<String, Type>();
+	private static final AtomicInteger writes = new AtomicInteger();
+	/** A new object for each epoch, so moving on is a single write that needs no lock, and an old epoch never comes back. */
+	private volatile Object epoch = new Object();
+	/**
+	 * The cached values, looked up by method and object. Entries are immutable, so threads sharing a scope can
+	 * read and replace them without a lock, and a lost race only means a value is computed again.
+	 */
+	private final Entry[] entries = new Entry[SIZE];
+
+	/** @return the scope generated bindings cache their values in on the current thread */
+	public static Memoization current() {
+		return scopes.current();
+	}
+
+	/** Invalidates all of the values memoized in the current scope. */
+	public static void nextEpoch() {
+		current().invalidate();
+	}
+
+	/**
+	 * Installs the scopes to use from now on. The field is not volatile, to keep looking up the scope cheap,
+	 * so install them at startup, before the bindings are used from other threads.
+	 *
+	 * @param scopes the scopes to use, or <code>null</code> to share one scope across all threads again
+	 */
+	public static void setScopes(Scopes scopes) {
+		Memoization.scopes = scopes == null ? GLOBAL : scopes;
+	}
+
+	/** Invalidates the values memoized in every scope, which generated bindings call after each write. */
+	public static void written() {
+		writes.incrementAndGet();
+	}
+
+	/** @return a stamp that changes whenever a generated binding writes, to stamp a value computed from now on with */
+	public static int writes() {
+		return writes.get();
+	}
+
+	/** @return the current epoch of this scope, to stamp a value computed from now on with */
+	public Object getEpoch() {
+		return this.epoch;
+	}
+
+	/** Invalidates the values memoized in this scope. */
+	public void invalidate() {
+		this.epoch = new Object();
+	}
+
+	/** @return the value of <code>key</code>'s method for <code>parent</code> if it is still valid after <code>writes</code>, else null */
+	public Entry get(Key key, Object parent, int writes) {
+		int i = index(key, parent);
+		Entry entry = this.entries[i];
+		if (entry != null && entry.isFor(key, parent, this, writes)) {
+			return entry;
+		}
+		entry = this.entries[i + 1];
+		if (entry != null && entry.isFor(key, parent, this, writes)) {
+			return entry;
+		}
+		return null;
+	}
+
+	/**
+	 * Caches the value of <code>key</code>'s method for <code>parent</code>, keeping the most recent other entry
+	 * in its bucket, so two objects used in turn, e.g. alternate rows, both stay cached.
+	 *
+	 * @param epoch the epoch from before <code>value</code> was computed, so a concurrent {@link #nextEpoch()} invalidates it
+	 * @param writes the {@link #writes()} or {@link #writesTo(Type[])} from before <code>value</code> was computed, so a concurrent write invalidates it
+	 */
+	public void put(Key key, Object parent, Object value, Object epoch, int writes) {
+		int i = index(key, parent);
+		Entry first = this.entries[i];
+		if (first != null && !(first.key == key && first.parent.is(parent))) {
+			this.entries[i + 1] = first;
+		}
+		this.entries[i] = new Entry(key, parent, value, epoch, writes);
+	}
+
+	private static int index(Key key, Object parent) {
+		int hash = key.hash ^ System.identityHashCode(parent);
+		hash ^= hash >>> 16;
+		return (hash * 2) & (SIZE - 1);
+	}
+
+	/**
+	 * Generated bindings look their methods up once, into static fields, so finding their values is cheap.
+	 *
+	 * @param name the qualified name of a method, e.g. <code>com.myapp.Foo.total</code>
+	 * @return the key to cache that method's values by
+	 */
+	public static synchronized Key keyOf(String name) {
+		Key key = keys.get(name);
+		if (key == null) {
+			key = new Key(name);
+			keys.put(name, key);
+		}
+		return key;
+	}
+
+	/**
+	 * Generated bindings look their types up once, into static fields, so writing and reading them is cheap.
+	 *
+	 * @param name the qualified name of a class, e.g. <code>com.myapp.Foo</code>
+	 * @return the counter of writes to fields and setters declared by that class
+	 */
+	public static synchronized Type typeOf(String name) {
+		Type type = types.get(name);
+		if (type == null) {
+			type = new Type();
+			types.put(name, type);
+		}
+		return type;
+	}
+
+	/**
+	 * @param types a memoized method's declaring type and its superclasses
+	 * @return a stamp that changes whenever any of <code>types</code> is written
+	 */
+	public static int writesTo(Type[] types) {
+		int writes = 0;
+		for (int i = 0; i < types.length; i++) {
+			writes += types[i].writes.get();
+		}
+		return writes;
+	}
+
+	/** A memoized method, whose values are cached per object. */
+	public static class Key {
+		private final String name;
+		private final int hash;
+
+		private Key(String name) {
+			this.name = name;
+			this.hash = name.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return this.name;
+		}
+	}
+
+	/**
+	 * Counts the writes to one declaring type, for <code>memoizeWritesPerType=true</code>, where a write only invalidates
+	 * the values memoized on its type and its subclasses. Values that depend on other objects then need callers to move
+	 * the epoch on after those are written.
+	 */
+	public static class Type {
+		private final AtomicInteger writes = new AtomicInteger();
+
+		private Type() {
+		}
+
+		/** Invalidates the values memoized on this type, in every scope. */
+		public void written() {
+			this.writes.incrementAndGet();
+		}
+	}
+
+	/** Looks up the scope for the current thread. */
+	public static interface Scopes {
+		Memoization current();
+	}
+
+	/**
+	 * A memoized method's value for one object, valid within the epoch and writes it was computed in.
+	 *
+	 * The object is only held weakly, so a stateless binding like <code>PATHS</code> does not keep the
+	 * roots it was evaluated against alive.
+	 */
+	public static class Entry {
+		private final Key key;
+		private final MemoizedParent parent;
+		private final Object value;
+		private final Object epoch;
+		private final int writes;
+
+		private Entry(Key key, Object parent, Object value, Object epoch, int writes) {
+			this.key = key;
+			this.parent = new MemoizedParent(parent);
+			this.value = value;
+			this.epoch = epoch;
+			this.writes = writes;
+		}
+
+		/** @return whether this is the value of <code>key</code> for <code>parent</code> in the current epoch of <code>scope</code> and after <code>writes</code> */
+		boolean isFor(Key key, Object parent, Memoization scope, int writes) {
+			return this.key == key && this.writes == writes && this.epoch == scope.epoch && this.parent.is(parent);
+		}
+
+		public Object getValue() {
+			return this.value;
+		}
+	}
+
+}
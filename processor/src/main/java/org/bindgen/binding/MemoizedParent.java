@@ -0,0 +1,21 @@
+package org.bindgen.binding;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * The object a {@link Memoization.Entry} is for, held weakly so the entry does not keep it alive.
+ *
+ * GWT has no weak references, so its build replaces this with <code>src/gwt/super</code>'s version, which holds it strongly.
+ */
+class MemoizedParent extends WeakReference<Object> {
+
+	MemoizedParent(Object parent) {
+		super(parent);
+	}
+
+	/** @return whether this is still <code>parent</code>, by identity */
+	boolean is(Object parent) {
+		return this.get() == parent;
+	}
+
+}
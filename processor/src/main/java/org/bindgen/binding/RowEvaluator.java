@@ -0,0 +1,186 @@
+package org.bindgen.binding;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bindgen.Binding;
+import org.bindgen.BindingRoot;
+import org.bindgen.FromParentBinding;
+import org.bindgen.GetterBinding;
+
+/**
+ * Evaluates many bindings against the same root, reading each shared part of their paths just once.
+ *
+ * For example, with columns for {@code employer.name}, {@code employer.address.city} and {@code name},
+ * calling {@code getWithRoot} on each one reads {@code employer} twice. A {@link RowEvaluator} builds
+ * a tree of the paths, by their names and binding classes, and walks it once per root with {@link Binding#getFromParent(Object)}:
+ *
+ * <code>
+ *     RowEvaluator&lt;Employee&gt; row = new RowEvaluator&lt;Employee&gt;(columns);
+ *     Object[] values = new Object[columns.size()];
+ *     for (Employee employee : employees) {
+ *         row.evaluate(employee, values);
+ *     }
+ * </code>
+ *
+ * Like {@link Binding#getSafely()}, a {@code null} along a path makes the values below it {@code null}.
+ *
+ * Each node of the tree is one (virtual) <code>getFromParent</code> call, while a stateless
+ * <code>getSafelyWithRoot</code> inlines its whole path, so only prefixes that call a method
+ * (see {@link GetterBinding}) and are shared by more than one column are read once. Below them, only
+ * bindings that read from their parent's value (see {@link FromParentBinding}) are walked. Every other
+ * column, including those below a hand-written binding, is evaluated on its own with <code>getSafelyWithRoot</code>,
+ * so plain field paths and hand-written bindings cost the same as evaluating each column in turn.
+ *
+ * A {@link RowEvaluator} only reads, so it can be shared, including across threads.
+ *
+ * @param <R> type of root object
+ */
+public class RowEvaluator<R> {
+
+	private final Node root = new Node(null);
+	private final List<BindingRoot<R, ?>> columns;
+	/** The columns below no shared getter, evaluated on their own. */
+	private final int[] directColumns;
+	/** The topmost shared getters, each evaluated on its own and then the paths below it from its value. */
+	private final Node[] shared;
+
+	/** @param columns the bindings to evaluate, rooted at an <code>R</code>, e.g. from {@code XxxBinding.PATHS} */
+	public RowEvaluator(List<? extends BindingRoot<R, ?>> columns) {
+		this.columns = new ArrayList<BindingRoot<R, ?>>(columns);
+		for (int i = 0; i < columns.size(); i++) {
+			this.add(columns.get(i), i);
+		}
+		this.root.freeze();
+		List<Integer> directColumns = new ArrayList<Integer>(this.root.columns);
+		List<Node> shared = new ArrayList<Node>();
+		this.root.collect(directColumns, shared);
+		this.directColumns = new int[directColumns.size()];
+		for (int i = 0; i < this.directColumns.length; i++) {
+			this.directColumns[i] = directColumns.get(i);
+		}
+		this.shared = shared.toArray(new Node[shared.size()]);
+	}
+
+	/** @return the value of each column evaluated against <code>root</code> */
+	public Object[] evaluate(R root) {
+		Object[] values = new Object[this.columns.size()];
+		this.evaluate(root, values);
+		return values;
+	}
+
+	/**
+	 * @param root the root to evaluate the columns against
+	 * @param values the array to put each column's value in, at least as long as the columns
+	 */
+	@SuppressWarnings("unchecked")
+	public void evaluate(R root, Object[] values) {
+		for (int i = 0; i < this.directColumns.length; i++) {
+			int column = this.directColumns[i];
+			values[column] = this.columns.get(column).getSafelyWithRoot(root);
+		}
+		for (int i = 0; i < this.shared.length; i++) {
+			Node node = this.shared[i];
+			node.evaluate(((BindingRoot<R, ?>) node.binding).getSafelyWithRoot(root), values);
+		}
+	}
+
+	private void add(Binding<?> column, int index) {
+		List<Binding<?>> path = new ArrayList<Binding<?>>();
+		for (Binding<?> current = column; current.getParentBinding() != null; current = current.getParentBinding()) {
+			path.add(0, current);
+		}
+		Node node = this.root;
+		for (Binding<?> binding : path) {
+			node = node.getOrAddChild(binding);
+		}
+		node.columns.add(index);
+	}
+
+	/** A binding in the tree of paths, shared by all of the columns whose paths go through it. */
+	private static class Node {
+		private final Binding<?> binding;
+		private final List<Node> children = new ArrayList<Node>();
+		private final List<Integer> columns = new ArrayList<Integer>();
+		private Node[] childArray;
+		private int[] columnArray;
+		/** The number of columns at or below us, i.e. how many times evaluating each column on its own would read us. */
+		private int reads;
+
+		private Node(Binding<?> binding) {
+			this.binding = binding;
+		}
+
+		private Node getOrAddChild(Binding<?> binding) {
+			for (Node child : this.children) {
+				if (child.binding.getClass() == binding.getClass() && child.binding.getName().equals(binding.getName())) {
+					return child;
+				}
+			}
+			Node child = new Node(binding);
+			this.children.add(child);
+			return child;
+		}
+
+		/** Copies our lists to arrays, so evaluating does not create iterators. */
+		private void freeze() {
+			this.childArray = this.children.toArray(new Node[this.children.size()]);
+			this.columnArray = new int[this.columns.size()];
+			for (int i = 0; i < this.columnArray.length; i++) {
+				this.columnArray[i] = this.columns.get(i);
+			}
+			this.reads = this.columnArray.length;
+			for (Node child : this.childArray) {
+				child.freeze();
+				this.reads += child.reads;
+			}
+		}
+
+		/** @return whether we call a method that more than one column reads through, so is worth reading just once */
+		private boolean isSharedGetter() {
+			return this.binding instanceof GetterBinding && this.reads > 1;
+		}
+
+		/** Adds the columns below us that are below no shared getter to <code>directColumns</code>, and the topmost shared getters to <code>shared</code>. */
+		private void collect(List<Integer> directColumns, List<Node> shared) {
+			for (Node child : this.childArray) {
+				if (child.isSharedGetter()) {
+					shared.add(child);
+					child.keepReadableChildren(directColumns, shared);
+				} else {
+					directColumns.addAll(child.columns);
+					child.collect(directColumns, shared);
+				}
+			}
+		}
+
+		/**
+		 * Keeps only the children below us that read from our value, and collects the others, e.g. hand-written
+		 * bindings that do not support <code>getFromParent</code>, as if they were below no shared getter.
+		 */
+		private void keepReadableChildren(List<Integer> directColumns, List<Node> shared) {
+			List<Node> readable = new ArrayList<Node>();
+			for (Node child : this.childArray) {
+				if (child.binding instanceof FromParentBinding) {
+					readable.add(child);
+					child.keepReadableChildren(directColumns, shared);
+				} else {
+					directColumns.addAll(child.columns);
+					child.collect(directColumns, shared);
+				}
+			}
+			this.childArray = readable.toArray(new Node[readable.size()]);
+		}
+
+		private void evaluate(Object value, Object[] values) {
+			for (int i = 0; i < this.columnArray.length; i++) {
+				values[this.columnArray[i]] = value;
+			}
+			for (int i = 0; i < this.childArray.length; i++) {
+				Node child = this.childArray[i];
+				child.evaluate(value == null ? null : child.binding.getFromParent(value), values);
+			}
+		}
+	}
+
+}
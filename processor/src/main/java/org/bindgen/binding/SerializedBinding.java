@@ -0,0 +1,30 @@
+package org.bindgen.binding;
+
+import java.io.Serializable;
+
+import org.bindgen.Binding;
+
+/** The serialized form of a property binding: its root binding and the names along its path, see {@link AbstractBinding#writeReplace()}. */
+class SerializedBinding implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+	private final Binding<?> root;
+	private final String[] names;
+
+	SerializedBinding(Binding<?> root, String[] names) {
+		this.root = root;
+		this.names = names;
+	}
+
+	private Object readResolve() {
+		Binding<?> binding = this.root;
+		for (String name : this.names) {
+			binding = binding.getChildBinding(name);
+			if (binding == null) {
+				throw new IllegalStateException("No binding for " + name + " in " + this.root.getClass().getName());
+			}
+		}
+		return binding;
+	}
+
+}
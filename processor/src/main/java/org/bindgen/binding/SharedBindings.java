@@ -0,0 +1,34 @@
+package org.bindgen.binding;
+
+import org.bindgen.Binding;
+
+/**
+ * Safely publishes the lazily-created child bindings of trees shared across threads, e.g. under
+ * <code>XxxBinding.PATHS</code>, without <code>threadSafeBindings=true</code>.
+ *
+ * Generated child accessors only look up {@link #getChildLock(Binding)} when creating a child. Bindings
+ * that are not under a shared {@link Root} get <code>null</code>, so they never lock. Children under a shared
+ * root are created once, under its lock, so every thread gets the same instance, which identity-based code
+ * like {@link DirtyTracker}, {@link SerializedBinding} and {@link Memoization} relies on.
+ */
+public class SharedBindings {
+
+	private SharedBindings() {
+	}
+
+	/** @return the child lock of <code>binding</code>'s root if it is shared, otherwise null */
+	public static Object getChildLock(Binding<?> binding) {
+		Binding<?> root = binding;
+		while (root.getParentBinding() != null) {
+			root = root.getParentBinding();
+		}
+		return root instanceof Root ? ((Root) root).getChildLock() : null;
+	}
+
+	/** A root binding shared across threads, e.g. the generated <code>PATHS</code>. */
+	public static interface Root {
+		/** @return the lock to create the child bindings under this root with */
+		Object getChildLock();
+	}
+
+}
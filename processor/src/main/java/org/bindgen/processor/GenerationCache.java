@@ -0,0 +1,272 @@
+package org.bindgen.processor;
+
+import static org.bindgen.processor.CurrentEnv.*;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import javax.tools.Diagnostic.Kind;
+
+import joist.util.Inflector;
+import joist.util.Join;
+
+import org.bindgen.processor.util.BoundClass;
+import org.bindgen.processor.util.ClassName;
+
+/** Remembers a fingerprint of each type we generated bindings for, across compilation runs.
+ *
+ * javac has no notion of our output already being up to date (see <code>skipExistingBindingCheck</code>),
+ * so without this every build regenerates every binding. The fingerprint covers the type's members,
+ * as the processor sees them, the members of the types along its flat paths and of the block types,
+ * all of the config options, and the generator itself, so if none changed, the binding would come
+ * out the same and the previous output can be reused instead of being generated again.
+ *
+ * The property types each binding enqueued are kept as well, so skipping a type still walks
+ * into its property types, which may themselves have changed.
+ *
+ * The cache is kept in <code>SOURCE_OUTPUT/bindgen-cache.properties</code>.
+ */
+public class GenerationCache {
+
+	private static final String FILE_NAME = "bindgen-cache.properties";
+	/** A digest of the processor's jar or classes, so upgrading bindgen regenerates every binding; tests change it to simulate an upgrade. */
+	static String generatorVersion = readGeneratorVersion();
+	private final Properties entries = new Properties();
+	private final String options;
+	private final String version;
+
+	public GenerationCache() {
+		this.options = getConfig().describeOptions();
+		this.version = generatorVersion;
+		this.readCacheFileIfExists();
+	}
+
+	/** @return the previous run's binding sources for <code>element</code>, by class name, if it is unchanged and they still exist, otherwise null */
+	public Map<String, String> getUnchangedSources(TypeElement element) {
+		String entry = this.entries.getProperty(element.getQualifiedName().toString());
+		if (entry == null || !entry.split(" ", 2)[0].equals(this.fingerprint(element))) {
+			return null;
+		}
+		String bindingClassName = new BoundClass(element).getBindingClassName().getWithoutGenericPart();
+		Map<String, String> sources = new LinkedHashMap<String, String>();
+		for (String className : new String[] { bindingClassName + "Path", bindingClassName }) {
+			String source = this.readSourceIfExists(new ClassName(className));
+			if (source == null) {
+				return null;
+			}
+			sources.put(className, source);
+		}
+		return sources;
+	}
+
+	/** @return the qualified names of the property types <code>element</code>'s bindings enqueued when last generated */
+	public List<String> getPropertyTypes(TypeElement element) {
+		List<String> propertyTypes = new ArrayList<String>();
+		String[] parts = this.entries.getProperty(element.getQualifiedName().toString()).split(" ", 2);
+		if (parts.length > 1) {
+			for (String propertyType : parts[1].split(",")) {
+				propertyTypes.add(propertyType);
+			}
+		}
+		return propertyTypes;
+	}
+
+	/** Records that <code>element</code>'s bindings were just generated, enqueueing <code>propertyTypes</code>. */
+	public void update(TypeElement element, Collection<String> propertyTypes) {
+		String entry = this.fingerprint(element);
+		if (propertyTypes.size() > 0) {
+			entry += " " + Join.join(propertyTypes, ",");
+		}
+		this.entries.setProperty(element.getQualifiedName().toString(), entry);
+	}
+
+	/** Writes the cache out for the next compilation run. */
+	public void save() {
+		try {
+			FileObject fo = getFiler().createResource(StandardLocation.SOURCE_OUTPUT, "", FILE_NAME);
+			OutputStream output = fo.openOutputStream();
+			this.entries.store(output, null);
+			output.close();
+		} catch (IOException io) {
+			getMessager().printMessage(Kind.ERROR, io.getMessage());
+		}
+	}
+
+	private void readCacheFileIfExists() {
+		try {
+			FileObject fo = getFiler().getResource(StandardLocation.SOURCE_OUTPUT, "", FILE_NAME);
+			if (fo.getLastModified() > 0) {
+				InputStream input = fo.openInputStream();
+				this.entries.load(input);
+				input.close();
+			}
+		} catch (IOException io) {
+			// no cache yet, e.g. javac throws FileNotFoundException
+		}
+	}
+
+	private String readSourceIfExists(ClassName className) {
+		try {
+			FileObject fo = getFiler().getResource(StandardLocation.SOURCE_OUTPUT, className.getPackageName(), className.getSimpleName() + ".java");
+			if (fo.getLastModified() == 0) {
+				return null;
+			}
+			return fo.getCharContent(false).toString();
+		} catch (IOException io) {
+			return null;
+		}
+	}
+
+	/** @return a digest of everything about <code>element</code>, the types its bindings depend on, and the config that goes into generating its bindings */
+	private String fingerprint(TypeElement element) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(this.version).append('\n');
+		sb.append(this.options).append('\n');
+		this.appendMembers(sb, element);
+		this.appendFlatPathTypes(sb, element);
+		for (String blockType : getConfig().blockTypesToAttempt()) {
+			TypeElement blockTypeElement = getElementUtils().getTypeElement(blockType);
+			if (blockTypeElement != null) {
+				this.appendMembers(sb, blockTypeElement);
+			}
+		}
+		return digest(sb.toString());
+	}
+
+	private void appendMembers(StringBuilder sb, TypeElement element) {
+		sb.append(element.getQualifiedName()).append(element.getTypeParameters()).append('\n');
+		for (Element member : getElementUtils().getAllMembers(element)) {
+			sb.append(member.getKind()).append(' ');
+			sb.append(member.getModifiers()).append(' ');
+			sb.append(member.getEnclosingElement()).append('.');
+			sb.append(member.getSimpleName()).append(' ');
+			sb.append(member.asType()).append(' ');
+			sb.append(getElementUtils().isDeprecated(member)).append(' ');
+			if (member.getKind() == ElementKind.METHOD) {
+				this.appendTypeParameters(sb, ((ExecutableElement) member).getReturnType());
+			} else if (member.getKind() == ElementKind.FIELD) {
+				this.appendTypeParameters(sb, member.asType());
+			}
+			sb.append('\n');
+		}
+	}
+
+	/**
+	 * Flat bindings read the members of each type along their path, e.g. {@code Employer} for {@code employer.name},
+	 * so this appends those types' members too, for every field or method a segment could resolve to.
+	 */
+	private void appendFlatPathTypes(StringBuilder sb, TypeElement element) {
+		for (String path : getConfig().flatPaths(element)) {
+			List<TypeElement> types = Collections.singletonList(element);
+			for (String segment : path.split("\\.")) {
+				List<TypeElement> next = new ArrayList<TypeElement>();
+				for (TypeElement type : types) {
+					for (Element member : getElementUtils().getAllMembers(type)) {
+						TypeMirror memberType = this.getReadTypeIfNamed(member, segment);
+						if (memberType != null && memberType.getKind() == TypeKind.DECLARED) {
+							next.add((TypeElement) getTypeUtils().asElement(memberType));
+						}
+					}
+				}
+				for (TypeElement type : next) {
+					this.appendMembers(sb, type);
+				}
+				types = next;
+			}
+		}
+	}
+
+	/** @return the type read by <code>member</code> if it is the field, getter or no-arg method for <code>name</code>, otherwise null */
+	private TypeMirror getReadTypeIfNamed(Element member, String name) {
+		String memberName = member.getSimpleName().toString();
+		if (member.getKind() == ElementKind.FIELD && memberName.equals(name)) {
+			return member.asType();
+		}
+		String capitalized = Inflector.capitalize(name);
+		if (member.getKind() == ElementKind.METHOD
+			&& (memberName.equals(name) || memberName.equals("get" + capitalized) || memberName.equals("is" + capitalized))) {
+			return ((ExecutableElement) member).getReturnType();
+		}
+		return null;
+	}
+
+	/** The bindings for a raw property type depend on the type parameters of its class, which <code>type</code> does not show. */
+	private void appendTypeParameters(StringBuilder sb, TypeMirror type) {
+		if (type.getKind() == TypeKind.DECLARED) {
+			sb.append(((TypeElement) getTypeUtils().asElement(type)).getTypeParameters());
+		}
+	}
+
+	private static String digest(String text) {
+		try {
+			return hex(MessageDigest.getInstance("SHA-1").digest(text.getBytes("UTF-8")));
+		} catch (NoSuchAlgorithmException nsae) {
+			throw new RuntimeException(nsae);
+		} catch (IOException io) {
+			throw new RuntimeException(io);
+		}
+	}
+
+	/** @return a digest of the jar or class directory we were loaded from, or, if that cannot be read, a new value each run, so nothing is reused */
+	private static String readGeneratorVersion() {
+		try {
+			File location = new File(GenerationCache.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+			MessageDigest digest = MessageDigest.getInstance("SHA-1");
+			digestFiles(digest, location, "");
+			return hex(digest.digest());
+		} catch (Exception e) {
+			return "unknown-" + System.currentTimeMillis() + "-" + System.nanoTime();
+		}
+	}
+
+	private static void digestFiles(MessageDigest digest, File file, String path) throws IOException {
+		digest.update(path.getBytes("UTF-8"));
+		if (file.isDirectory()) {
+			String[] names = file.list();
+			Arrays.sort(names);
+			for (String name : names) {
+				digestFiles(digest, new File(file, name), path + "/" + name);
+			}
+			return;
+		}
+		InputStream input = new FileInputStream(file);
+		try {
+			byte[] buffer = new byte[8192];
+			for (int read = input.read(buffer); read != -1; read = input.read(buffer)) {
+				digest.update(buffer, 0, read);
+			}
+		} finally {
+			input.close();
+		}
+	}
+
+	private static String hex(byte[] digest) {
+		StringBuilder hex = new StringBuilder();
+		for (byte b : digest) {
+			hex.append(Integer.toHexString((b & 0xff) | 0x100).substring(1));
+		}
+		return hex.toString();
+	}
+
+}
@@ -3,16 +3,27 @@ package org.bindgen.processor;
 import static org.bindgen.processor.CurrentEnv.*;
 
 import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import javax.lang.model.element.Element;
 import javax.lang.model.element.TypeElement;
 import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
 import javax.tools.StandardLocation;
 import javax.tools.Diagnostic.Kind;
 
+import joist.sourcegen.GClass;
+
 import org.bindgen.processor.generators.BindKeywordGenerator;
 import org.bindgen.processor.generators.BindingClassGenerator;
 import org.bindgen.processor.util.BoundClass;
@@ -25,6 +36,8 @@ import org.bindgen.processor.util.ClassName;
  */
 public class GenerationQueue {
 
+	// How many rendered sources per thread may wait to be written before the processor thread waits for them
+	private static final int MAX_PENDING_PER_THREAD = 4;
 	// Both Eclipse and javac will use the same processor instance for each compilation run (e.g. across all of the rounds), so this should be cumulative
 	private final Set<String> written = new HashSet<String>();
 	// Any TypeElements waiting to have bindings generated
@@ -35,11 +48,20 @@ public class GenerationQueue {
 	private final boolean skipExistingBindingCheck;
 	// Skip the bindgen.BindKeyword class
 	private final boolean skipBindKeyword;
+	// Number of threads to run GClass.toCode on
+	private final int generationThreads;
+	// Source files being rendered by the pool, to be written on the processor thread
+	private final List<PendingWrite> pendingWrites = new ArrayList<PendingWrite>();
+	private ExecutorService pool;
+	// Fingerprints from the previous compilation run, or null if not enabled
+	private final GenerationCache cache;
 
 	public GenerationQueue() {
 		this.logEnabled = getConfig().logEnabled();
 		this.skipExistingBindingCheck = getConfig().skipExistingBindingCheck();
 		this.skipBindKeyword = getConfig().skipBindKeyword();
+		this.generationThreads = getConfig().generationThreads();
+		this.cache = getConfig().generationCache() ? new GenerationCache() : null;
 	}
 
 	/** Enqueue <code>element</code> even if it was written during a previous compilation run. */
@@ -59,10 +81,84 @@ public class GenerationQueue {
 		this.enqueue(element);
 	}
 
-	/** Generates bindings for elements in the queue unless it is empty. */
+	/**
+	 * Generates bindings for elements in the queue unless it is empty.
+	 *
+	 * The element/type utilities are not thread-safe, so each binding's {@link GClass} is always
+	 * built and written on the processor thread, but with <code>generationThreads</code> set, the
+	 * rendering of its source is done by a pool while the next binding is built.
+	 */
 	public void processQueue() {
-		while (this.queue.size() != 0) {
-			new BindingClassGenerator(this, this.queue.remove(0)).generate();
+		if (this.generationThreads > 1 && this.queue.size() != 0) {
+			this.pool = Executors.newFixedThreadPool(this.generationThreads);
+		}
+		try {
+			while (this.queue.size() != 0) {
+				TypeElement element = this.queue.remove(0);
+				Map<String, String> unchanged = this.cache == null ? null : this.cache.getUnchangedSources(element);
+				if (this.cache == null) {
+					new BindingClassGenerator(this, element).generate();
+				} else if (unchanged != null) {
+					this.log("Reusing unchanged " + element);
+					for (Map.Entry<String, String> source : unchanged.entrySet()) {
+						this.saveCode(source.getKey(), source.getValue(), element);
+					}
+					this.enqueuePropertyTypesFromCache(element);
+				} else {
+					BindingClassGenerator generator = new BindingClassGenerator(this, element);
+					generator.generate();
+					this.cache.update(element, generator.getPropertyTypes());
+				}
+			}
+		} finally {
+			this.finishPendingWrites();
+		}
+	}
+
+	/** Writes <code>gc</code> to a new source file, originating from <code>sourceElements</code>. */
+	public void saveCode(final GClass gc, Element... sourceElements) {
+		String className = gc.getFullClassNameWithoutGeneric();
+		if (this.pool == null) {
+			if (this.writeSource(className, gc.toCode(), sourceElements)) {
+				this.log("Saved " + className);
+			}
+			return;
+		}
+		Future<String> code = this.pool.submit(new Callable<String>() {
+			public String call() {
+				return gc.toCode();
+			}
+		});
+		this.pendingWrites.add(new PendingWrite(className, sourceElements, code));
+		// Write what the pool has rendered so far, and wait for it if too far behind, so the sources do not pile up
+		this.writeRenderedSources(this.generationThreads * MAX_PENDING_PER_THREAD);
+	}
+
+	/**
+	 * Writes the previous compilation run's <code>code</code> back through the Filer.
+	 *
+	 * javac only compiles the sources created this compilation run, so even unchanged
+	 * bindings have to be written again, just without building and rendering a {@link GClass}.
+	 */
+	private void saveCode(String className, String code, Element sourceElement) {
+		if (this.writeSource(className, code, sourceElement)) {
+			this.log("Saved unchanged " + className);
+		}
+	}
+
+	/** @return whether <code>code</code> was written to a new source file, with any error reported on the Messager */
+	private boolean writeSource(String className, String code, Element... sourceElements) {
+		try {
+			Writer w = getFiler().createSourceFile(className, sourceElements).openWriter();
+			try {
+				w.write(code);
+			} finally {
+				w.close();
+			}
+			return true;
+		} catch (IOException io) {
+			getMessager().printMessage(Kind.ERROR, io.getMessage());
+			return false;
 		}
 	}
 
@@ -74,6 +170,13 @@ public class GenerationQueue {
 		new BindKeywordGenerator(this).generate(this.written);
 	}
 
+	/** Saves the fingerprints of this compilation run's bindings, if enabled. */
+	public void saveGenerationCache() {
+		if (this.cache != null) {
+			this.cache.save();
+		}
+	}
+
 	/** Outputs <code>message</code> to System.out, mostly useful for Debug As Eclipse/javac debugging. */
 	public void log(String message) {
 		if (this.logEnabled) {
@@ -81,6 +184,45 @@ public class GenerationQueue {
 		}
 	}
 
+	/** Waits for the pool to render the remaining sources and writes them. */
+	private void finishPendingWrites() {
+		this.writeRenderedSources(0);
+		if (this.pool != null) {
+			this.pool.shutdown();
+			this.pool = null;
+		}
+	}
+
+	/**
+	 * Writes the sources the pool has rendered, in order, on the processor thread as the Filer is not
+	 * thread-safe, waiting for the oldest ones while more than <code>maxPending</code> are left.
+	 */
+	private void writeRenderedSources(int maxPending) {
+		while (this.pendingWrites.size() != 0 && (this.pendingWrites.size() > maxPending || this.pendingWrites.get(0).code.isDone())) {
+			PendingWrite pending = this.pendingWrites.remove(0);
+			try {
+				if (this.writeSource(pending.className, pending.code.get(), pending.sourceElements)) {
+					this.log("Saved " + pending.className);
+				}
+			} catch (ExecutionException ee) {
+				getMessager().printMessage(Kind.ERROR, "Error rendering " + pending.className + ": " + ee.getCause());
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+				getMessager().printMessage(Kind.ERROR, "Interrupted rendering " + pending.className);
+			}
+		}
+	}
+
+	/** Walks into the property types of an unchanged <code>element</code> as if its bindings had been generated. */
+	private void enqueuePropertyTypesFromCache(TypeElement element) {
+		for (String propertyType : this.cache.getPropertyTypes(element)) {
+			TypeElement propertyTypeElement = getElementUtils().getTypeElement(propertyType);
+			if (propertyTypeElement != null && getConfig().shouldGenerateBindingFor(propertyTypeElement)) {
+				this.enqueueIfNew(propertyTypeElement);
+			}
+		}
+	}
+
 	private void enqueue(TypeElement element) {
 		this.queue.add(element);
 		this.written.add(element.toString());
@@ -123,4 +265,17 @@ public class GenerationQueue {
 		}
 	}
 
+	/** A source file being rendered by the pool. */
+	private static class PendingWrite {
+		private final String className;
+		private final Element[] sourceElements;
+		private final Future<String> code;
+
+		private PendingWrite(String className, Element[] sourceElements, Future<String> code) {
+			this.className = className;
+			this.sourceElements = sourceElements;
+			this.code = code;
+		}
+	}
+
 }
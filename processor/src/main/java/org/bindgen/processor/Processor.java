@@ -91,6 +91,7 @@ public class Processor extends AbstractProcessor {
 		boolean emptyRound = roundEnv.getElementsAnnotatedWith(Bindable.class).size() == 0;
 		if (emptyRound && !this.hasUpdatedKeywordClass) {
 			this.queue.updateBindKeywordClass();
+			this.queue.saveGenerationCache();
 			this.hasUpdatedKeywordClass = true;
 		}
 	}
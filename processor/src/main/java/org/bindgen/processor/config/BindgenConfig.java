@@ -6,12 +6,14 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.TreeMap;
 
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.TypeElement;
 import javax.tools.FileObject;
 import javax.tools.StandardLocation;
+import javax.tools.Diagnostic.Kind;
 import javax.tools.JavaFileManager.Location;
 
 import org.bindgen.binding.AbstractBinding;
@@ -31,12 +33,14 @@ public class BindgenConfig {
 	private static final String SCOPE_PARAM = "scope";
 	private final Map<String, String> options = new HashMap<String, String>();
 	private final Scope<ClassName> bindingScope;
+	private final boolean memoizedAttributes;
 
 	public BindgenConfig(ProcessingEnvironment env) {
 		this.loadDefaultOptions();
 		this.loadAptKeyValueOptions(env);
 		this.loadBindgenDotProperties(env);
 		this.bindingScope = this.getBindingScope();
+		this.memoizedAttributes = this.hasOptionEnabled("memoizeAttribute.");
 	}
 
 	public boolean shouldGenerateBindingFor(TypeElement type) {
@@ -97,11 +101,78 @@ public class BindgenConfig {
 		return this.isEnabled("skipGeneratedTimestamps");
 	}
 
+	/** @return whether the lazily-created child bindings should be safely published to other threads */
+	public boolean threadSafeBindings() {
+		return this.isEnabled("threadSafeBindings");
+	}
+
+	/** @return whether <code>volatile</code> fields should get {@link org.bindgen.AtomicBinding}s backed by field updaters, which GWT does not support */
+	public boolean atomicBindings() {
+		return this.isEnabled("atomicBindings");
+	}
+
+	/** @return whether property bindings' get/set methods should report to {@link org.bindgen.runtime.Instrumentation}, which GWT does not support */
+	public boolean instrumentBindings() {
+		return this.isEnabled("instrumentBindings");
+	}
+
+	/** @return the dotted property paths, e.g. {@code employer.name}, to generate flat bindings for on {@code element}'s root binding */
+	public String[] flatPaths(Element element) {
+		String paths = this.options.get("flatPaths." + element.toString());
+		if (paths == null || paths.trim().length() == 0) {
+			return new String[0];
+		}
+		return paths.trim().split("\\s*,\\s*");
+	}
+
+	/** @return the number of threads to render generated source files with, 1 being on the processor thread, or 1 if not a positive number */
+	public int generationThreads() {
+		String threads = this.options.get("generationThreads");
+		if (threads == null) {
+			return 1;
+		}
+		try {
+			int parsed = Integer.parseInt(threads.trim());
+			if (parsed > 0) {
+				return parsed;
+			}
+		} catch (NumberFormatException nfe) {
+			// reported below
+		}
+		CurrentEnv.getMessager().printMessage(Kind.WARNING, "generationThreads must be a positive number, but was " + threads + ", so using 1");
+		return 1;
+	}
+
+	/** @return whether unchanged types should skip generation based on the fingerprints cached from the previous compilation run */
+	public boolean generationCache() {
+		return this.isEnabled("generationCache");
+	}
+
+	/** @return all of the options, sorted, so a change to any of them can be detected across compilation runs */
+	public String describeOptions() {
+		return new TreeMap<String, String>(this.options).toString();
+	}
+
 	/** @return whether the field/method {@code name} of {@code element} should be skipped */
 	public boolean skipAttribute(Element element, String name) {
 		return this.isEnabled("skipAttribute." + element.toString() + "." + name);
 	}
 
+	/** @return whether the method {@code name} of {@code element} should cache its value per object and {@link org.bindgen.binding.Memoization} epoch */
+	public boolean memoizeAttribute(Element element, String name) {
+		return this.isEnabled("memoizeAttribute." + element.toString() + "." + name);
+	}
+
+	/** @return whether any attribute is memoized, so generated writes should invalidate the {@link org.bindgen.binding.Memoization} values */
+	public boolean hasMemoizedAttributes() {
+		return this.memoizedAttributes;
+	}
+
+	/** @return whether generated writes should only invalidate the values memoized on their {@link org.bindgen.binding.Memoization.Type}, instead of all of them */
+	public boolean memoizeWritesPerType() {
+		return this.isEnabled("memoizeWritesPerType");
+	}
+
 	/** @return the type parameter to fill in for a raw type or null */
 	public String fixedRawType(Element element, String name) {
 		return this.options.get("fixRawType." + element.toString() + "." + name);
@@ -111,6 +182,15 @@ public class BindgenConfig {
 		return "true".equals(this.options.get(key));
 	}
 
+	private boolean hasOptionEnabled(String prefix) {
+		for (Map.Entry<String, String> option : this.options.entrySet()) {
+			if (option.getKey().startsWith(prefix) && "true".equals(option.getValue())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	private Scope<ClassName> getBindingScope() {
 		final Scope<ClassName> bindingScope;
 		final String scopeExpression = this.options.get(SCOPE_PARAM);
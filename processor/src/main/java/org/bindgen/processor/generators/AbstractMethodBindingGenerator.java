@@ -1,5 +1,7 @@
 package org.bindgen.processor.generators;
 
+import static org.bindgen.processor.CurrentEnv.*;
+
 import java.util.Collection;
 
 import javax.lang.model.element.Element;
@@ -16,7 +18,10 @@ import joist.sourcegen.GField;
 import joist.sourcegen.GMethod;
 
 import org.bindgen.ContainerBinding;
+import org.bindgen.FromParentBinding;
+import org.bindgen.GetterBinding;
 import org.bindgen.processor.CurrentEnv;
+import org.bindgen.processor.util.BoundClass;
 import org.bindgen.processor.util.BoundProperty;
 import org.bindgen.processor.util.Util;
 
@@ -30,13 +35,16 @@ public abstract class AbstractMethodBindingGenerator implements PropertyGenerato
 
 	protected final AccessorPrefix prefix;
 	protected final GClass outerClass;
+	protected final BoundClass outerType;
 	protected final ExecutableElement method;
 	protected final String methodName;
 	protected final BoundProperty property;
 	protected GClass innerClass;
 
-	public AbstractMethodBindingGenerator(GClass outerClass, ExecutableElement method, Collection<String> namesTaken) throws WrongGeneratorException {
+	public AbstractMethodBindingGenerator(GClass outerClass, BoundClass outerType, ExecutableElement method, Collection<String> namesTaken)
+		throws WrongGeneratorException {
 		this.outerClass = outerClass;
+		this.outerType = outerType;
 		this.method = method;
 		this.methodName = method.getSimpleName().toString();
 		this.prefix = AccessorPrefix.guessPrefix(this.methodName);
@@ -90,17 +98,15 @@ public abstract class AbstractMethodBindingGenerator implements PropertyGenerato
 		GMethod fieldGet = this.outerClass.getMethod(this.property.getName() + "()");
 		fieldGet.setAccess(Util.getAccess(this.method));
 		fieldGet.returnType(this.property.getBindingClassFieldDeclaration());
-		fieldGet.body.line("if (this.{} == null) {", this.property.getName());
-		fieldGet.body.line("    this.{} = new {}();", this.property.getName(), this.property.getBindingRootClassInstantiation());
-		fieldGet.body.line("}");
-		fieldGet.body.line("return this.{};", this.property.getName());
+		String fieldClass = this.outerClass.getSimpleClassNameWithoutGeneric() + "." + Util.erasure(this.property.getBindingClassFieldDeclaration());
+		Util.addLazyChildGet(this.outerClass, fieldGet, this.property.getName(), fieldClass, this.property.getBindingRootClassInstantiation());
 		if (this.property.doesOuterGetNeedSuppressWarnings()) {
 			fieldGet.addAnnotation("@SuppressWarnings(\"unchecked\")");
 		}
 	}
 
 	protected void addOuterClassBindingField() {
-		GField f = this.outerClass.getField(this.property.getName()).type(this.property.getBindingClassFieldDeclaration());
+		GField f = this.outerClass.getField(this.property.getName()).type(Util.getLazyChildFieldType(this.property.getBindingClassFieldDeclaration()));
 		if (this.property.isRawType()) {
 			f.addAnnotation("@SuppressWarnings(\"unchecked\")");
 		}
@@ -110,6 +116,7 @@ public abstract class AbstractMethodBindingGenerator implements PropertyGenerato
 		this.innerClass = this.outerClass.getInnerClass(this.property.getInnerClassDeclaration()).notStatic();
 		this.innerClass.setAccess(Util.getAccess(this.method));
 		this.innerClass.baseClassName(this.property.getInnerClassSuperClass());
+		this.innerClass.implementsInterface(GetterBinding.class);
 		if (this.property.doesInnerClassNeedSuppressWarnings()) {
 			this.innerClass.addAnnotation("@SuppressWarnings(\"unchecked\")");
 		}
@@ -132,29 +139,120 @@ public abstract class AbstractMethodBindingGenerator implements PropertyGenerato
 	}
 
 	protected void addInnerClassGet() {
-		GMethod get = this.innerClass.getMethod("get");
-		get.returnType(this.property.getSetType()).addAnnotation("@Override");
-		get.body.line("return {}{}.this.get().{}();",//
-			this.property.getCastForReturnIfNeeded(),
-			this.outerClass.getSimpleClassNameWithoutGeneric(),
-			this.methodName);
+		GMethod get = Util.addBindingMethod(this.innerClass, "get", this.property.getSetType(), null);
+		get.body.line("return {};", this.getValueOf(Util.parentCall(this.outerClass, "get()")));
 		if (this.property.doesInnerGetNeedSuppressWarnings()) {
 			get.addAnnotation("@SuppressWarnings(\"unchecked\")");
 		}
 	}
 
 	protected void addInnerClassGetWithRoot() {
-		GMethod getWithRoot = this.innerClass.getMethod("getWithRoot");
-		getWithRoot.argument("R", "root").returnType(this.property.getSetType()).addAnnotation("@Override");
-		getWithRoot.body.line("return {}{}.this.getWithRoot(root).{}();",//
-			this.property.getCastForReturnIfNeeded(),
-			this.outerClass.getSimpleClassNameWithoutGeneric(),
-			this.methodName);
+		GMethod getWithRoot = Util.addBindingMethod(this.innerClass, "getWithRoot", this.property.getSetType(), null);
+		getWithRoot.body.line("return {};", this.getValueOf(Util.parentCall(this.outerClass, "getWithRoot(root)")));
 		if (this.property.doesInnerGetNeedSuppressWarnings()) {
 			getWithRoot.addAnnotation("@SuppressWarnings(\"unchecked\")");
 		}
 	}
 
+	/** Evaluates our parent once, instead of {@code AbstractBinding}'s {@code getIsSafe} re-evaluating the whole path per level. */
+	protected void addInnerClassGetSafely() {
+		GMethod getSafely = Util.addBindingMethod(this.innerClass, "getSafely", this.property.getSetType(), null);
+		getSafely.body.line("{} parent = {};", this.outerType.get(), Util.parentCall(this.outerClass, "getSafely()"));
+		getSafely.body.line("return parent == null ? null : {};", this.getValueOf("parent"));
+		if (this.property.doesInnerGetNeedSuppressWarnings()) {
+			getSafely.addAnnotation("@SuppressWarnings(\"unchecked\")");
+		}
+
+		GMethod getSafelyWithRoot = Util.addBindingMethod(this.innerClass, "getSafelyWithRoot", this.property.getSetType(), null);
+		getSafelyWithRoot.body.line("{} parent = {};", this.outerType.get(), Util.parentCall(this.outerClass, "getSafelyWithRoot(root)"));
+		getSafelyWithRoot.body.line("return parent == null ? null : {};", this.getValueOf("parent"));
+		if (this.property.doesInnerGetNeedSuppressWarnings()) {
+			getSafelyWithRoot.addAnnotation("@SuppressWarnings(\"unchecked\")");
+		}
+	}
+
+	protected void addInnerClassGetFromParent() {
+		this.innerClass.implementsInterface(FromParentBinding.class);
+		GMethod getFromParent = this.innerClass.getMethod("getFromParent").argument("Object", "parent");
+		getFromParent.returnType(this.property.getSetType()).addAnnotation("@Override");
+		getFromParent.body.line("return {};", this.getValueOf("((" + this.outerType.get() + ") parent)"));
+		if (this.outerType.isGeneric() || this.property.doesInnerGetNeedSuppressWarnings()) {
+			getFromParent.addAnnotation("@SuppressWarnings(\"unchecked\")");
+		}
+	}
+
+	/** Evaluates our parent for all of the roots at once, then calls our method in one loop. */
+	protected void addInnerClassGetAllWithRoots() {
+		GMethod getAll = this.innerClass.getMethod("getAllWithRoots").addAnnotation("@Override");
+		getAll.argument("java.util.List<R>", "roots").argument(this.property.getSetType() + "[]", "out");
+		getAll.body.line("{}[] parents = {};", this.outerType.get(), this.outerType.getNewArray("roots.size()"));
+		getAll.body.line("{}.this.getAllWithRoots(roots, parents);", this.outerClass.getSimpleClassNameWithoutGeneric());
+		getAll.body.line("for (int i = 0; i < parents.length; i++) {");
+		getAll.body.line("    out[i] = {};", this.getValueOf("parents[i]"));
+		getAll.body.line("}");
+		if (this.outerType.isGeneric() || this.property.doesInnerGetNeedSuppressWarnings()) {
+			getAll.addAnnotation("@SuppressWarnings(\"unchecked\")");
+		}
+	}
+
+	/**
+	 * Adds the unboxed <code>getInt</code>/<code>setInt</code>-style methods for primitive properties.
+	 *
+	 * @param setterName the setter to call, or null if the property is read only
+	 */
+	protected void addInnerClassPrimitiveIfNeeded(String setterName) {
+		String name = this.property.getPrimitiveBindingName();
+		if (name == null) {
+			return;
+		}
+		String type = this.property.getPrimitiveType();
+		this.innerClass.implementsInterface("org.bindgen." + name + "Binding<R>");
+		GMethod get = Util.addBindingMethod(this.innerClass, "get" + name, type, null);
+		get.body.line("return {};", this.getValueOf(Util.parentCall(this.outerClass, "get()")));
+		GMethod getWithRoot = Util.addBindingMethod(this.innerClass, "get" + name + "WithRoot", type, null);
+		getWithRoot.body.line("return {};", this.getValueOf(Util.parentCall(this.outerClass, "getWithRoot(root)")));
+		GMethod getFromParent = this.innerClass.getMethod("get" + name + "FromParent").argument("Object", "parent").returnType(type).addAnnotation("@Override");
+		getFromParent.body.line("return {};", this.getValueOf("((" + this.outerType.get() + ") parent)"));
+		if (this.outerType.isGeneric()) {
+			getFromParent.addAnnotation("@SuppressWarnings(\"unchecked\")");
+		}
+		if (setterName == null) {
+			GMethod set = this.innerClass.getMethod("set" + name).argument(type, "value").addAnnotation("@Override");
+			GMethod setWithRoot = this.innerClass.getMethod("set" + name + "WithRoot").argument("R", "root").argument(type, "value").addAnnotation("@Override");
+			set.body.line("throw new RuntimeException(this.getName() + \" is read only\");");
+			setWithRoot.body.line("throw new RuntimeException(this.getName() + \" is read only\");");
+			return;
+		}
+		GMethod set = Util.addBindingMethod(this.innerClass, "set" + name, type, "value");
+		GMethod setWithRoot = Util.addBindingMethod(this.innerClass, "set" + name + "WithRoot", type, "value");
+		set.body.line("{}.{}(value);", Util.parentCall(this.outerClass, "get()"), setterName);
+		setWithRoot.body.line("{}.{}(value);", Util.parentCall(this.outerClass, "getWithRoot(root)"), setterName);
+		Util.addMemoizationEpochBumpIfNeeded(this.outerClass, set, this.method.getEnclosingElement());
+		Util.addMemoizationEpochBumpIfNeeded(this.outerClass, setWithRoot, this.method.getEnclosingElement());
+	}
+
+	/** @return whether our method's value is cached per parent and {@link org.bindgen.binding.Memoization} epoch */
+	protected boolean isMemoized() {
+		return false;
+	}
+
+	/** @return the expression for our method's value on <code>parent</code>, going through the memoized value if needed */
+	protected String getValueOf(String parent) {
+		if (this.isMemoized()) {
+			return "this._memoized(" + parent + ")";
+		}
+		return this.property.getCastForReturnIfNeeded() + parent + "." + this.methodName + "()";
+	}
+
+	/** Adds the <code>_memoized</code> helper behind {@link #getValueOf(String)} for memoized methods. */
+	protected void addInnerClassMemoizedIfNeeded() {
+		if (!this.isMemoized()) {
+			return;
+		}
+		String read = this.property.getCastForReturnIfNeeded() + "parent." + this.methodName + "()";
+		Util.addMemoizedGet(this.outerClass, this.innerClass, "", this.method, this.outerType.get(), this.property.getSetType(), read);
+	}
+
 	protected void addInnerClassGetContainedTypeIfNeeded() {
 		if (this.property.isForListOrSet() && !this.property.matchesTypeParameterOfParent()) {
 			this.innerClass.implementsInterface(ContainerBinding.class);
@@ -177,6 +275,16 @@ public abstract class AbstractMethodBindingGenerator implements PropertyGenerato
 		return this.property.getElement();
 	}
 
+	@Override
+	public boolean isReadOnly() {
+		return true;
+	}
+
+	@Override
+	public String getPropertyTypeErasure() {
+		return this.property.getErasure();
+	}
+
 	@Override
 	public boolean hasSubBindings() {
 		return true;
@@ -184,13 +292,15 @@ public abstract class AbstractMethodBindingGenerator implements PropertyGenerato
 
 	public abstract static class ExecutableElementGeneratorFactory implements GeneratorFactory {
 		@Override
-		public AbstractMethodBindingGenerator newGenerator(GClass outerClass, Element possibleMethod, Collection<String> namesTaken) throws WrongGeneratorException {
+		public AbstractMethodBindingGenerator newGenerator(GClass outerClass, BoundClass outerType, Element possibleMethod, Collection<String> namesTaken)
+			throws WrongGeneratorException {
 			if (possibleMethod.getKind() != ElementKind.METHOD) {
 				throw new WrongGeneratorException();
 			}
-			return this.newGenerator(outerClass, (ExecutableElement) possibleMethod, namesTaken);
+			return this.newGenerator(outerClass, outerType, (ExecutableElement) possibleMethod, namesTaken);
 		}
 
-		public abstract AbstractMethodBindingGenerator newGenerator(GClass outerClass, ExecutableElement method, Collection<String> namesTaken) throws WrongGeneratorException;
+		public abstract AbstractMethodBindingGenerator newGenerator(GClass outerClass, BoundClass outerType, ExecutableElement method, Collection<String> namesTaken)
+			throws WrongGeneratorException;
 	}
 }
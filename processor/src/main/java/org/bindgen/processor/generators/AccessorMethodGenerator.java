@@ -9,14 +9,17 @@ import javax.lang.model.element.ExecutableElement;
 import joist.sourcegen.GClass;
 import joist.sourcegen.GMethod;
 
+import org.bindgen.processor.util.BoundClass;
+import org.bindgen.processor.util.Util;
+
 /**
  * Generates bindings for get/set method pairs (the bindable class must have both)
  *
  */
 public class AccessorMethodGenerator extends AbstractMethodBindingGenerator {
 
-	public AccessorMethodGenerator(GClass outerClass, ExecutableElement method, Collection<String> namesTaken) throws WrongGeneratorException {
-		super(outerClass, method, namesTaken);
+	public AccessorMethodGenerator(GClass outerClass, BoundClass outerType, ExecutableElement method, Collection<String> namesTaken) throws WrongGeneratorException {
+		super(outerClass, outerType, method, namesTaken);
 	}
 
 	@Override
@@ -24,6 +27,11 @@ public class AccessorMethodGenerator extends AbstractMethodBindingGenerator {
 		return this.hasSetterMethod() && this.methodNotVoidNoParamsNoThrows();
 	}
 
+	@Override
+	public boolean isReadOnly() {
+		return false;
+	}
+
 	public void generate() {
 		this.addOuterClassGet();
 		this.addOuterClassBindingField();
@@ -32,36 +40,56 @@ public class AccessorMethodGenerator extends AbstractMethodBindingGenerator {
 		this.addInnerClassParent();
 		this.addInnerClassGet();
 		this.addInnerClassGetWithRoot();
+		this.addInnerClassGetSafely();
+		this.addInnerClassGetFromParent();
 		this.addInnerClassSet();
 		this.addInnerClassSetWithRoot();
+		this.addInnerClassGetAllWithRoots();
+		this.addInnerClassSetAllWithRoots();
+		this.addInnerClassPrimitiveIfNeeded(this.prefix.setterName(this.methodName));
 		this.addInnerClassGetContainedTypeIfNeeded();
 		this.addInnerClassSerialVersionUID();
 	}
 
 	private void addInnerClassSet() {
-		GMethod set = this.innerClass.getMethod("set({} {})", this.property.getSetType(), this.property.getName());
-		set.addAnnotation("@Override");
-		set.body.line("{}.this.get().{}({});",//
-			this.outerClass.getSimpleClassNameWithoutGeneric(),
+		GMethod set = Util.addBindingMethod(this.innerClass, "set", this.property.getSetType(), this.property.getName());
+		set.body.line("{}.{}({});",//
+			Util.parentCall(this.outerClass, "get()"),
 			this.prefix.setterName(this.methodName),
 			this.property.getName());
+		Util.addMemoizationEpochBumpIfNeeded(this.outerClass, set, this.method.getEnclosingElement());
 	}
 
 	private void addInnerClassSetWithRoot() {
-		GMethod setWithRoot = this.innerClass.getMethod("setWithRoot(R root, {} {})", this.property.getSetType(), this.property.getName());
-		setWithRoot.addAnnotation("@Override");
-		setWithRoot.body.line("{}.this.getWithRoot(root).{}({});",//
-			this.outerClass.getSimpleClassNameWithoutGeneric(),
+		GMethod setWithRoot = Util.addBindingMethod(this.innerClass, "setWithRoot", this.property.getSetType(), this.property.getName());
+		setWithRoot.body.line("{}.{}({});",//
+			Util.parentCall(this.outerClass, "getWithRoot(root)"),
 			this.prefix.setterName(this.methodName),
 			this.property.getName());
+		Util.addMemoizationEpochBumpIfNeeded(this.outerClass, setWithRoot, this.method.getEnclosingElement());
+	}
+
+	private void addInnerClassSetAllWithRoots() {
+		GMethod setAll = this.innerClass.getMethod("setAllWithRoots").addAnnotation("@Override");
+		setAll.argument("java.util.List<R>", "roots").argument(this.property.getSetType() + "[]", "values");
+		setAll.body.line("{}[] parents = {};", this.outerType.get(), this.outerType.getNewArray("roots.size()"));
+		setAll.body.line("{}.this.getAllWithRoots(roots, parents);", this.outerClass.getSimpleClassNameWithoutGeneric());
+		setAll.body.line("for (int i = 0; i < parents.length; i++) {");
+		setAll.body.line("    parents[i].{}(values[i]);", this.prefix.setterName(this.methodName));
+		setAll.body.line("}");
+		Util.addMemoizationEpochBumpIfNeeded(this.outerClass, setAll, this.method.getEnclosingElement());
+		if (this.outerType.isGeneric()) {
+			setAll.addAnnotation("@SuppressWarnings(\"unchecked\")");
+		}
 	}
 
 	public static class Factory extends ExecutableElementGeneratorFactory {
 		private Set<String> accessorNames = new HashSet<String>();
 
 		@Override
-		public AccessorMethodGenerator newGenerator(GClass outerClass, ExecutableElement method, Collection<String> namesTaken) throws WrongGeneratorException {
-			AccessorMethodGenerator pg = new AccessorMethodGenerator(outerClass, method, namesTaken);
+		public AccessorMethodGenerator newGenerator(GClass outerClass, BoundClass outerType, ExecutableElement method, Collection<String> namesTaken)
+			throws WrongGeneratorException {
+			AccessorMethodGenerator pg = new AccessorMethodGenerator(outerClass, outerType, method, namesTaken);
 			this.accessorNames.add(pg.getPropertyName());
 			return pg;
 		}
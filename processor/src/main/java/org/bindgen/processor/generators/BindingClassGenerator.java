@@ -2,8 +2,6 @@ package org.bindgen.processor.generators;
 
 import static org.bindgen.processor.CurrentEnv.*;
 
-import java.io.IOException;
-import java.io.Writer;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
@@ -11,16 +9,18 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
 
 import javax.annotation.Generated;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.TypeElement;
-import javax.tools.JavaFileObject;
 import javax.tools.Diagnostic.Kind;
 
+import joist.sourcegen.Access;
 import joist.sourcegen.GClass;
 import joist.sourcegen.GMethod;
 import joist.util.Copy;
+import joist.util.Join;
 
 import org.bindgen.Binding;
 import org.bindgen.processor.GenerationQueue;
@@ -44,8 +44,10 @@ public class BindingClassGenerator {
 	private final GenerationQueue queue;
 	private final TypeElement element;
 	private final BoundClass name;
-	private final List<String> foundSubBindings = new ArrayList<String>();
+	private final List<PropertyGenerator> foundSubBindings = new ArrayList<PropertyGenerator>();
 	private final Set<Element> sourceElements = new HashSet<Element>();
+	private final Set<String> propertyTypes = new TreeSet<String>();
+	private final List<String> flatPathAccessors = new ArrayList<String>();
 	private GClass pathBindingClass;
 	private GClass rootBindingClass;
 
@@ -57,14 +59,19 @@ public class BindingClassGenerator {
 
 	public void generate() {
 		this.initializePathBindingClass();
+		Util.addUninstrumentedGets(this.pathBindingClass, this.name.get());
 		this.addGetName();
 		this.addGetType();
 		this.generateProperties();
 		this.addGetChildBindings();
+		this.addGetChildBinding();
+		this.addPropertyTables();
 
 		this.initializeRootBindingClass();
 		this.addConstructors();
 		this.addGetWithRoot();
+		this.addFlatPaths();
+		this.addPaths();
 
 		this.addGeneratedTimestamp();
 		this.addSerialVersionUID();
@@ -72,6 +79,11 @@ public class BindingClassGenerator {
 		this.saveCode(this.rootBindingClass);
 	}
 
+	/** @return the qualified names of the property types enqueued by {@link #generate()} */
+	public Set<String> getPropertyTypes() {
+		return this.propertyTypes;
+	}
+
 	private void initializePathBindingClass() {
 		this.pathBindingClass = new GClass(this.name.getBindingPathClassDeclaration());
 		this.pathBindingClass.baseClassName(this.name.getBindingPathClassSuperClass());
@@ -88,6 +100,50 @@ public class BindingClassGenerator {
 		getWithRoot.body.line("return root;");
 	}
 
+	/**
+	 * Adds a shared, stateless <code>PATHS</code> root for <code>getWithRoot</code>/<code>setWithRoot</code> paths, which deserializes back to itself.
+	 *
+	 * <code>PATHS</code> creates its child and flat bindings up front, so they are published with the class, and every thread shares them.
+	 * It is a shared root, so its deeper children are created under its lock, and every thread shares those too.
+	 */
+	private void addPaths() {
+		if (this.name.isGeneric()) {
+			return; // a static field can't use the root's type parameters
+		}
+		GClass paths = this.rootBindingClass.getInnerClass("Paths").setAccess(Access.PRIVATE);
+		paths.baseClassName(this.rootBindingClass.getSimpleClassNameWithoutGeneric());
+		paths.implementsInterface("org.bindgen.binding.SharedBindings.Root");
+		paths.getField("serialVersionUID").type("long").setStatic().setFinal().initialValue("1L");
+		paths.getField("_childLock").type("transient Object").setFinal().initialValue("new Object()");
+		GMethod constructor = paths.getConstructor();
+		constructor.body.line("this.getChildBindings();");
+		for (String flatPathAccessor : this.flatPathAccessors) {
+			constructor.body.line("this.{}();", flatPathAccessor);
+		}
+		GMethod getChildLock = paths.getMethod("getChildLock").returnType("Object");
+		getChildLock.body.line("return this._childLock;");
+		GMethod set = paths.getMethod("set").argument(this.name.get(), "value").addAnnotation("@Override");
+		set.body.line("throw new UnsupportedOperationException(\"PATHS is stateless, use getWithRoot/setWithRoot\");");
+		GMethod readResolve = paths.getMethod("readResolve").returnType("Object").setAccess(Access.PRIVATE);
+		readResolve.body.line("return PATHS;");
+		this.rootBindingClass.getField("PATHS").type(this.name.getBindingRootClassDeclaration()).setAccess(Access.PUBLIC).setStatic().setFinal()
+			.initialValue("new Paths()");
+	}
+
+	private void addFlatPaths() {
+		String[] paths = getConfig().flatPaths(this.element);
+		if (paths.length > 0 && this.name.isGeneric()) {
+			getMessager().printMessage(Kind.WARNING, "Flat bindings are not supported on generic types", this.element);
+			return;
+		}
+		for (String path : paths) {
+			FlatPathGenerator generator = new FlatPathGenerator(this.rootBindingClass, this.element, path);
+			if (generator.generate()) {
+				this.flatPathAccessors.add(generator.getAccessorName());
+			}
+		}
+	}
+
 	private void addGeneratedTimestamp() {
 		if (getConfig().skipGeneratedTimestamps()) {
 			return;
@@ -126,6 +182,7 @@ public class BindingClassGenerator {
 	private void enqueuePropertyTypeIfNeeded(PropertyGenerator pg) {
 		if (pg.getPropertyTypeElement() != null) {
 			if (getConfig().shouldGenerateBindingFor(pg.getPropertyTypeElement())) {
+				this.propertyTypes.add(pg.getPropertyTypeElement().getQualifiedName().toString());
 				this.queue.enqueueIfNew(pg.getPropertyTypeElement());
 			}
 		}
@@ -133,36 +190,105 @@ public class BindingClassGenerator {
 
 	private void addToSubBindingsIfNeeded(PropertyGenerator pg) {
 		if (pg.hasSubBindings()) {
-			this.foundSubBindings.add(pg.getPropertyName());
+			this.foundSubBindings.add(pg);
 		}
 	}
 
+	/** Builds the child list once per binding instance, as tree walkers call this for every node. */
 	private void addGetChildBindings() {
 		this.pathBindingClass.addImports(Binding.class, List.class);
+		this.pathBindingClass.getField("_childBindings").type("transient List<Binding<?>>");
 		GMethod children = this.pathBindingClass.getMethod("getChildBindings").returnType("List<Binding<?>>").addAnnotation("@Override");
-		children.body.line("List<Binding<?>> bindings = new java.util.ArrayList<Binding<?>>();");
-		for (String foundSubBinding : this.foundSubBindings) {
-			children.body.line("bindings.add(this.{}());", foundSubBinding);
+		children.body.line("if (this._childBindings == null) {");
+		children.body.line("    List<Binding<?>> bindings = new java.util.ArrayList<Binding<?>>({});", this.foundSubBindings.size());
+		for (PropertyGenerator foundSubBinding : this.foundSubBindings) {
+			children.body.line("    bindings.add(this.{}());", foundSubBinding.getPropertyName());
 		}
-		children.body.line("return bindings;");
+		children.body.line("    this._childBindings = java.util.Collections.unmodifiableList(bindings);");
+		children.body.line("}");
+		children.body.line("return this._childBindings;");
 	}
 
-	private void saveCode(GClass gc) {
-		try {
-			JavaFileObject jfo = getFiler()
-				.createSourceFile(gc.getFullClassNameWithoutGeneric(), Copy.array(Element.class, Copy.list(this.sourceElements)));
-			Writer w = jfo.openWriter();
-			w.write(gc.toCode());
-			w.close();
-			this.queue.log("Saved " + gc.getFullClassNameWithoutGeneric());
-		} catch (IOException io) {
-			getMessager().printMessage(Kind.ERROR, io.getMessage());
+	private void addGetChildBinding() {
+		GMethod child = this.pathBindingClass.getMethod("getChildBinding").argument("String", "name").returnType("Binding<?>").addAnnotation("@Override");
+		for (PropertyGenerator foundSubBinding : this.foundSubBindings) {
+			child.body.line("if (\"{}\".equals(name)) {", foundSubBinding.getPropertyName());
+			child.body.line("    return this.{}();", foundSubBinding.getPropertyName());
+			child.body.line("}");
 		}
+		child.body.line("return null;");
+	}
+
+	/** Adds static, unmodifiable name/read only/type tables of the child bindings, by ordinal, and switch-based access to them. */
+	private void addPropertyTables() {
+		List<String> names = new ArrayList<String>();
+		List<String> readOnly = new ArrayList<String>();
+		List<String> types = new ArrayList<String>();
+		for (PropertyGenerator foundSubBinding : this.foundSubBindings) {
+			names.add("\"" + foundSubBinding.getPropertyName() + "\"");
+			readOnly.add(String.valueOf(foundSubBinding.isReadOnly()));
+			types.add(foundSubBinding.getPropertyTypeErasure() + ".class");
+		}
+		this.addPropertyTable("PROPERTY_NAMES", "String", names);
+		this.addPropertyTable("PROPERTY_READ_ONLY", "Boolean", readOnly);
+		this.addPropertyTable("PROPERTY_TYPES", "Class<?>", types);
+
+		GMethod ordinalOf = this.pathBindingClass.getMethod("ordinalOf").argument("String", "name").returnType("int").setStatic();
+		for (int i = 0; i < this.foundSubBindings.size(); i++) {
+			ordinalOf.body.line("if (\"{}\".equals(name)) {", this.foundSubBindings.get(i).getPropertyName());
+			ordinalOf.body.line("    return {};", i);
+			ordinalOf.body.line("}");
+		}
+		ordinalOf.body.line("return -1;");
+
+		GMethod get = this.pathBindingClass.getMethod("getByOrdinal").argument("R", "root").argument("int", "ordinal").returnType("Object");
+		get.addAnnotation("@Override");
+		get.body.line("switch (ordinal) {");
+		for (int i = 0; i < this.foundSubBindings.size(); i++) {
+			get.body.line("    case {}:", i);
+			get.body.line("        return this.{}().getWithRoot(root);", this.foundSubBindings.get(i).getPropertyName());
+		}
+		get.body.line("    default:");
+		get.body.line("        throw new IndexOutOfBoundsException(\"No property \" + ordinal);");
+		get.body.line("}");
+
+		GMethod set = this.pathBindingClass.getMethod("setByOrdinal").argument("R", "root").argument("int", "ordinal").argument("Object", "value");
+		set.addAnnotation("@Override").addAnnotation("@SuppressWarnings(\"unchecked\")");
+		set.body.line("switch (ordinal) {");
+		for (int i = 0; i < this.foundSubBindings.size(); i++) {
+			set.body.line("    case {}:", i);
+			set.body.line("        ((org.bindgen.BindingRoot<R, Object>) (Object) this.{}()).setWithRoot(root, value);", this.foundSubBindings.get(i).getPropertyName());
+			set.body.line("        return;");
+		}
+		set.body.line("    default:");
+		set.body.line("        throw new IndexOutOfBoundsException(\"No property \" + ordinal);");
+		set.body.line("}");
+	}
+
+	private void addPropertyTable(String name, String type, List<String> values) {
+		this.pathBindingClass.getField(name).type("java.util.List<" + type + ">").setAccess(Access.PUBLIC).setStatic().setFinal()
+			.initialValue("java.util.Collections.unmodifiableList(java.util.Arrays.<" + type + "> asList(" + Join.commaSpace(values) + "))");
+	}
+
+	private void saveCode(GClass gc) {
+		this.queue.saveCode(gc, Copy.array(Element.class, Copy.list(this.sourceElements)));
 	}
 
 	private List<PropertyGenerator> getPropertyGenerators() {
 		List<PropertyGenerator> generators = new ArrayList<PropertyGenerator>();
+		List<Element> members = new ArrayList<Element>();
+		getPropertyGenerators(this.pathBindingClass, this.name, this.element, generators, members);
+		this.sourceElements.addAll(members);
+		return generators;
+	}
 
+	/**
+	 * Finds the generators for the members of <code>outerType</code> accessible from <code>accessibleFrom</code>,
+	 * in the precedence that decides which member each binding name goes to.
+	 *
+	 * @param members gets the member each generator binds, at the same index as the generator
+	 */
+	static void getPropertyGenerators(GClass outerClass, BoundClass outerType, TypeElement accessibleFrom, List<PropertyGenerator> generators, List<Element> members) {
 		Set<String> namesTaken = new HashSet<String>();
 
 		// factory ordering specifies binding precedence rules
@@ -190,10 +316,10 @@ public class BindingClassGenerator {
 		factories.add(new FieldPropertyGenerator.Factory().setAccessorFactory(accessorFactory));
 
 		// get accessible elements
-		List<? extends Element> elements = getElementUtils().getAllMembers(this.element);
+		List<? extends Element> elements = getElementUtils().getAllMembers(outerType.getElement());
 		List<Element> accesibleElements = new ArrayList<Element>(elements.size());
 		for (Element enclosed : elements) {
-			if (Util.isAccessibleIfGenerated(this.element, enclosed)) {
+			if (Util.isAccessibleIfGenerated(accessibleFrom, enclosed)) {
 				accesibleElements.add(enclosed);
 			}
 		}
@@ -203,7 +329,7 @@ public class BindingClassGenerator {
 			while (it.hasNext()) {
 				Element enclosed = it.next();
 				try {
-					PropertyGenerator pg = f.newGenerator(this.pathBindingClass, enclosed, namesTaken);
+					PropertyGenerator pg = f.newGenerator(outerClass, outerType, enclosed, namesTaken);
 					if (namesTaken.contains(pg.getPropertyName())) {
 						continue;
 					} else {
@@ -211,13 +337,12 @@ public class BindingClassGenerator {
 					}
 					it.remove(); // element is handled, other PropertyGenerators should not even bother  
 					generators.add(pg);
-					this.sourceElements.add(enclosed);
+					members.add(enclosed);
 				} catch (WrongGeneratorException e) {
 					// try next
 				}
 			}
 		}
-		return generators;
 	}
 
 	private void addSerialVersionUID() {
@@ -1,16 +1,23 @@
 package org.bindgen.processor.generators;
 
+import static org.bindgen.processor.CurrentEnv.*;
+
 import java.util.Collection;
+import java.util.Set;
 
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
 
 import joist.sourcegen.GClass;
 import joist.sourcegen.GField;
 import joist.sourcegen.GMethod;
 
 import org.bindgen.ContainerBinding;
+import org.bindgen.FromParentBinding;
+import org.bindgen.processor.util.BoundClass;
 import org.bindgen.processor.util.BoundProperty;
 import org.bindgen.processor.util.Util;
 
@@ -20,14 +27,16 @@ import org.bindgen.processor.util.Util;
 public class FieldPropertyGenerator implements PropertyGenerator {
 
 	private final GClass outerClass;
+	private final BoundClass outerType;
 	private final Element field;
 	private final BoundProperty property;
 	private final boolean isFinal;
 	private GClass innerClass;
 
-	public FieldPropertyGenerator(GClass outerClass, Element field, Collection<String> accessorNames, Collection<String> otherNamesTaken)
+	public FieldPropertyGenerator(GClass outerClass, BoundClass outerType, Element field, Collection<String> accessorNames, Collection<String> otherNamesTaken)
 		throws WrongGeneratorException {
 		this.outerClass = outerClass;
+		this.outerType = outerType;
 		this.field = field;
 
 		String propertyName = this.field.getSimpleName().toString(); // we already have a binding to the accessor
@@ -58,14 +67,21 @@ public class FieldPropertyGenerator implements PropertyGenerator {
 		this.addInnerClassGetParent();
 		this.addInnerClassGet();
 		this.addInnerClassGetWithRoot();
+		this.addInnerClassGetSafely();
+		this.addInnerClassGetFromParent();
 		this.addInnerClassSet();
 		this.addInnerClassSetWithRoot();
+		this.addInnerClassGetIsReadOnlyIfNeeded();
+		this.addInnerClassGetAllWithRoots();
+		this.addInnerClassSetAllWithRoots();
+		this.addInnerClassPrimitiveIfNeeded();
+		this.addInnerClassAtomicIfNeeded();
 		this.addInnerClassGetContainedTypeIfNeeded();
 		this.addInnerClassSerialVersionUID();
 	}
 
 	private void addOuterClassBindingField() {
-		GField f = this.outerClass.getField(this.property.getName()).type(this.property.getBindingClassFieldDeclaration());
+		GField f = this.outerClass.getField(this.property.getName()).type(Util.getLazyChildFieldType(this.property.getBindingClassFieldDeclaration()));
 		if (this.property.isRawType()) {
 			f.addAnnotation("@SuppressWarnings(\"unchecked\")");
 		}
@@ -75,10 +91,8 @@ public class FieldPropertyGenerator implements PropertyGenerator {
 		GMethod fieldGet = this.outerClass.getMethod(this.property.getName() + "()");
 		fieldGet.setAccess(Util.getAccess(this.field));
 		fieldGet.returnType(this.property.getBindingClassFieldDeclaration());
-		fieldGet.body.line("if (this.{} == null) {", this.property.getName());
-		fieldGet.body.line("    this.{} = new {}();", this.property.getName(), this.property.getBindingRootClassInstantiation());
-		fieldGet.body.line("}");
-		fieldGet.body.line("return this.{};", this.property.getName());
+		String fieldClass = this.outerClass.getSimpleClassNameWithoutGeneric() + "." + Util.erasure(this.property.getBindingClassFieldDeclaration());
+		Util.addLazyChildGet(this.outerClass, fieldGet, this.property.getName(), fieldClass, this.property.getBindingRootClassInstantiation());
 		if (this.property.doesOuterGetNeedSuppressWarnings()) {
 			fieldGet.addAnnotation("@SuppressWarnings(\"unchecked\")");
 		}
@@ -110,10 +124,10 @@ public class FieldPropertyGenerator implements PropertyGenerator {
 	}
 
 	private void addInnerClassGet() {
-		GMethod get = this.innerClass.getMethod("get").returnType(this.property.getSetType()).addAnnotation("@Override");
-		get.body.line("return {}{}.this.get().{};",//
+		GMethod get = Util.addBindingMethod(this.innerClass, "get", this.property.getSetType(), null);
+		get.body.line("return {}{}.{};",//
 			this.property.getCastForReturnIfNeeded(),
-			this.outerClass.getSimpleClassNameWithoutGeneric(),
+			Util.parentCall(this.outerClass, "get()"),
 			this.property.getName());
 		if (this.property.doesInnerGetNeedSuppressWarnings()) {
 			get.addAnnotation("@SuppressWarnings(\"unchecked\")");
@@ -121,42 +135,236 @@ public class FieldPropertyGenerator implements PropertyGenerator {
 	}
 
 	private void addInnerClassGetWithRoot() {
-		GMethod getWithRoot = this.innerClass.getMethod("getWithRoot");
-		getWithRoot.argument("R", "root").returnType(this.property.getSetType()).addAnnotation("@Override");
-		getWithRoot.body.line("return {}{}.this.getWithRoot(root).{};",//
+		GMethod getWithRoot = Util.addBindingMethod(this.innerClass, "getWithRoot", this.property.getSetType(), null);
+		getWithRoot.body.line("return {}{}.{};",//
 			this.property.getCastForReturnIfNeeded(),
-			this.outerClass.getSimpleClassNameWithoutGeneric(),
+			Util.parentCall(this.outerClass, "getWithRoot(root)"),
 			this.property.getName());
 		if (this.property.doesInnerGetNeedSuppressWarnings()) {
 			getWithRoot.addAnnotation("@SuppressWarnings(\"unchecked\")");
 		}
 	}
 
+	private void addInnerClassGetSafely() {
+		GMethod getSafely = Util.addBindingMethod(this.innerClass, "getSafely", this.property.getSetType(), null);
+		getSafely.body.line("{} parent = {};", this.outerType.get(), Util.parentCall(this.outerClass, "getSafely()"));
+		getSafely.body.line("return parent == null ? null : {}parent.{};", this.property.getCastForReturnIfNeeded(), this.property.getName());
+		if (this.property.doesInnerGetNeedSuppressWarnings()) {
+			getSafely.addAnnotation("@SuppressWarnings(\"unchecked\")");
+		}
+
+		GMethod getSafelyWithRoot = Util.addBindingMethod(this.innerClass, "getSafelyWithRoot", this.property.getSetType(), null);
+		getSafelyWithRoot.body.line("{} parent = {};", this.outerType.get(), Util.parentCall(this.outerClass, "getSafelyWithRoot(root)"));
+		getSafelyWithRoot.body.line("return parent == null ? null : {}parent.{};", this.property.getCastForReturnIfNeeded(), this.property.getName());
+		if (this.property.doesInnerGetNeedSuppressWarnings()) {
+			getSafelyWithRoot.addAnnotation("@SuppressWarnings(\"unchecked\")");
+		}
+	}
+
+	private void addInnerClassGetFromParent() {
+		this.innerClass.implementsInterface(FromParentBinding.class);
+		GMethod getFromParent = this.innerClass.getMethod("getFromParent").argument("Object", "parent");
+		getFromParent.returnType(this.property.getSetType()).addAnnotation("@Override");
+		getFromParent.body.line("return {}(({}) parent).{};", this.property.getCastForReturnIfNeeded(), this.outerType.get(), this.property.getName());
+		if (this.outerType.isGeneric() || this.property.doesInnerGetNeedSuppressWarnings()) {
+			getFromParent.addAnnotation("@SuppressWarnings(\"unchecked\")");
+		}
+	}
+
+	private void addInnerClassGetIsReadOnlyIfNeeded() {
+		if (this.isFinal) {
+			GMethod getIsReadOnly = this.innerClass.getMethod("getIsReadOnly").returnType("boolean").addAnnotation("@Override");
+			getIsReadOnly.body.line("return true;");
+		}
+	}
+
 	private void addInnerClassSet() {
-		GMethod set = this.innerClass.getMethod("set").argument(this.property.getSetType(), this.property.getName());
-		set.addAnnotation("@Override");
+		GMethod set = Util.addBindingMethod(this.innerClass, "set", this.property.getSetType(), this.property.getName());
 		if (this.isFinal) {
 			set.body.line("throw new RuntimeException(this.getName() + \" is read only\");");
 			return;
 		}
-		set.body.line("{}.this.get().{} = {};",//
-			this.outerClass.getSimpleClassNameWithoutGeneric(),
+		set.body.line("{}.{} = {};",//
+			Util.parentCall(this.outerClass, "get()"),
 			this.property.getName(),
 			this.property.getName());
+		Util.addMemoizationEpochBumpIfNeeded(this.outerClass, set, this.field.getEnclosingElement());
 	}
 
 	private void addInnerClassSetWithRoot() {
-		GMethod setWithRoot = this.innerClass.getMethod("setWithRoot(R root, {} {})", this.property.getSetType(), this.property.getName());
-		setWithRoot.addAnnotation("@Override");
+		GMethod setWithRoot = Util.addBindingMethod(this.innerClass, "setWithRoot", this.property.getSetType(), this.property.getName());
 		if (this.isFinal) {
 			setWithRoot.body.line("throw new RuntimeException(this.getName() + \" is read only\");");
 			return;
 		}
 		setWithRoot.body.line(
-			"{}.this.getWithRoot(root).{} = {};",
-			this.outerClass.getSimpleClassNameWithoutGeneric(),
+			"{}.{} = {};",
+			Util.parentCall(this.outerClass, "getWithRoot(root)"),
 			this.property.getName(),
 			this.property.getName());
+		Util.addMemoizationEpochBumpIfNeeded(this.outerClass, setWithRoot, this.field.getEnclosingElement());
+	}
+
+	/** Evaluates our parent for all of the roots at once, then reads our field in one loop. */
+	private void addInnerClassGetAllWithRoots() {
+		GMethod getAll = this.innerClass.getMethod("getAllWithRoots").addAnnotation("@Override");
+		getAll.argument("java.util.List<R>", "roots").argument(this.property.getSetType() + "[]", "out");
+		getAll.body.line("{}[] parents = {};", this.outerType.get(), this.outerType.getNewArray("roots.size()"));
+		getAll.body.line("{}.this.getAllWithRoots(roots, parents);", this.outerClass.getSimpleClassNameWithoutGeneric());
+		getAll.body.line("for (int i = 0; i < parents.length; i++) {");
+		getAll.body.line("    out[i] = {}parents[i].{};", this.property.getCastForReturnIfNeeded(), this.property.getName());
+		getAll.body.line("}");
+		if (this.outerType.isGeneric() || this.property.doesInnerGetNeedSuppressWarnings()) {
+			getAll.addAnnotation("@SuppressWarnings(\"unchecked\")");
+		}
+	}
+
+	private void addInnerClassSetAllWithRoots() {
+		if (this.isFinal) {
+			return; // the inherited setAllWithRoots fails in setWithRoot
+		}
+		GMethod setAll = this.innerClass.getMethod("setAllWithRoots").addAnnotation("@Override");
+		setAll.argument("java.util.List<R>", "roots").argument(this.property.getSetType() + "[]", "values");
+		setAll.body.line("{}[] parents = {};", this.outerType.get(), this.outerType.getNewArray("roots.size()"));
+		setAll.body.line("{}.this.getAllWithRoots(roots, parents);", this.outerClass.getSimpleClassNameWithoutGeneric());
+		setAll.body.line("for (int i = 0; i < parents.length; i++) {");
+		setAll.body.line("    parents[i].{} = values[i];", this.property.getName());
+		setAll.body.line("}");
+		Util.addMemoizationEpochBumpIfNeeded(this.outerClass, setAll, this.field.getEnclosingElement());
+		if (this.outerType.isGeneric()) {
+			setAll.addAnnotation("@SuppressWarnings(\"unchecked\")");
+		}
+	}
+
+	/** Adds the unboxed <code>getInt</code>/<code>setInt</code>-style methods for primitive fields. */
+	private void addInnerClassPrimitiveIfNeeded() {
+		String name = this.property.getPrimitiveBindingName();
+		if (name == null) {
+			return;
+		}
+		String type = this.property.getPrimitiveType();
+		this.innerClass.implementsInterface("org.bindgen." + name + "Binding<R>");
+		GMethod get = Util.addBindingMethod(this.innerClass, "get" + name, type, null);
+		get.body.line("return {}.{};", Util.parentCall(this.outerClass, "get()"), this.property.getName());
+		GMethod getWithRoot = Util.addBindingMethod(this.innerClass, "get" + name + "WithRoot", type, null);
+		getWithRoot.body.line("return {}.{};", Util.parentCall(this.outerClass, "getWithRoot(root)"), this.property.getName());
+		GMethod getFromParent = this.innerClass.getMethod("get" + name + "FromParent").argument("Object", "parent").returnType(type).addAnnotation("@Override");
+		getFromParent.body.line("return (({}) parent).{};", this.outerType.get(), this.property.getName());
+		if (this.outerType.isGeneric()) {
+			getFromParent.addAnnotation("@SuppressWarnings(\"unchecked\")");
+		}
+		if (this.isFinal) {
+			GMethod set = this.innerClass.getMethod("set" + name).argument(type, "value").addAnnotation("@Override");
+			GMethod setWithRoot = this.innerClass.getMethod("set" + name + "WithRoot").argument("R", "root").argument(type, "value").addAnnotation("@Override");
+			set.body.line("throw new RuntimeException(this.getName() + \" is read only\");");
+			setWithRoot.body.line("throw new RuntimeException(this.getName() + \" is read only\");");
+			return;
+		}
+		GMethod set = Util.addBindingMethod(this.innerClass, "set" + name, type, "value");
+		GMethod setWithRoot = Util.addBindingMethod(this.innerClass, "set" + name + "WithRoot", type, "value");
+		set.body.line("{}.{} = value;", Util.parentCall(this.outerClass, "get()"), this.property.getName());
+		setWithRoot.body.line("{}.{} = value;", Util.parentCall(this.outerClass, "getWithRoot(root)"), this.property.getName());
+		Util.addMemoizationEpochBumpIfNeeded(this.outerClass, set, this.field.getEnclosingElement());
+		Util.addMemoizationEpochBumpIfNeeded(this.outerClass, setWithRoot, this.field.getEnclosingElement());
+	}
+
+	/**
+	 * Adds the {@link org.bindgen.AtomicBinding} methods for <code>volatile</code> fields, backed by
+	 * a static field updater on the outer class, as inner classes cannot have static fields.
+	 */
+	private void addInnerClassAtomicIfNeeded() {
+		String updaterClass = this.getAtomicUpdaterClass();
+		if (updaterClass == null) {
+			return;
+		}
+		String declaring = getTypeUtils().erasure(this.field.getEnclosingElement().asType()).toString();
+		String name = this.property.getPrimitiveBindingName();
+		String type = this.property.getSetType();
+		String erasure = this.property.getErasure();
+		String cast = name != null || type.equals(erasure) ? "" : "(" + type + ") ";
+		String updater = "_" + this.property.getName() + "Updater";
+		if (name == null) {
+			this.outerClass.getField(updater).type(updaterClass + "<" + declaring + ", " + erasure + ">").setStatic().setFinal()
+				.initialValue(updaterClass + ".newUpdater(" + declaring + ".class, " + erasure + ".class, \"" + this.field.getSimpleName() + "\")");
+			this.innerClass.implementsInterface("org.bindgen.AtomicBinding<R, " + type + ">");
+		} else {
+			this.outerClass.getField(updater).type(updaterClass + "<" + declaring + ">").setStatic().setFinal()
+				.initialValue(updaterClass + ".newUpdater(" + declaring + ".class, \"" + this.field.getSimpleName() + "\")");
+			this.innerClass.implementsInterface("org.bindgen.Atomic" + name + "Binding<R>");
+		}
+		for (String suffix : new String[] { "", "WithRoot" }) {
+			String parent = Util.parentCall(this.outerClass, suffix.equals("") ? "get()" : "getWithRoot(root)");
+			GMethod cas = this.addInnerClassAtomicMethod("compareAndSet" + suffix, "boolean", cast).argument(type, "expect").argument(type, "update");
+			this.addReturnAfterWrite(cas, "boolean", updater + ".compareAndSet(" + parent + ", expect, update)");
+			GMethod getAndSet = this.addInnerClassAtomicMethod("getAndSet" + suffix, type, cast).argument(type, "value");
+			this.addReturnAfterWrite(getAndSet, type, cast + updater + ".getAndSet(" + parent + ", value)");
+			GMethod getAndUpdate = this.addInnerClassAtomicMethod("getAndUpdate" + suffix, type, cast);
+			getAndUpdate.argument("org.bindgen.AtomicBinding.Update<" + type + ">", "update");
+			getAndUpdate.body.line("{} parent = {};", this.outerType.get(), parent);
+			getAndUpdate.body.line("{} current;", type);
+			getAndUpdate.body.line("do {");
+			getAndUpdate.body.line("    current = {}{}.get(parent);", cast, updater);
+			getAndUpdate.body.line("} while (!{}.compareAndSet(parent, current, update.apply(current)));", updater);
+			Util.addMemoizationEpochBumpIfNeeded(this.outerClass, getAndUpdate, this.field.getEnclosingElement());
+			getAndUpdate.body.line("return current;");
+			GMethod getAcquire = this.addInnerClassAtomicMethod("getAcquire" + suffix, type, cast);
+			getAcquire.body.line("return {}{}.get({});", cast, updater, parent);
+			GMethod setRelease = this.addInnerClassAtomicMethod("setRelease" + suffix, "void", "").argument(type, "value");
+			setRelease.body.line("{}.lazySet({}, value);", updater, parent);
+			Util.addMemoizationEpochBumpIfNeeded(this.outerClass, setRelease, this.field.getEnclosingElement());
+			if (name != null) {
+				String primitive = this.property.getPrimitiveType();
+				GMethod primitiveCas = this.addInnerClassAtomicMethod("compareAndSet" + name + suffix, "boolean", "");
+				primitiveCas.argument(primitive, "expect").argument(primitive, "update");
+				this.addReturnAfterWrite(primitiveCas, "boolean", updater + ".compareAndSet(" + parent + ", expect, update)");
+				GMethod getAndAdd = this.addInnerClassAtomicMethod("getAndAdd" + name + suffix, primitive, "").argument(primitive, "delta");
+				this.addReturnAfterWrite(getAndAdd, primitive, updater + ".getAndAdd(" + parent + ", delta)");
+			}
+		}
+	}
+
+	/** @return a method named <code>name</code>, taking a root first if it ends with <code>WithRoot</code> */
+	private GMethod addInnerClassAtomicMethod(String name, String returnType, String cast) {
+		GMethod method = this.innerClass.getMethod(name).returnType(returnType).addAnnotation("@Override");
+		if (name.endsWith("WithRoot")) {
+			method.argument("R", "root");
+		}
+		if (cast.length() > 0) {
+			method.addAnnotation("@SuppressWarnings(\"unchecked\")");
+		}
+		return method;
+	}
+
+	/** Returns <code>write</code>'s result, counting it as a write for memoization after it if needed. */
+	private void addReturnAfterWrite(GMethod method, String type, String write) {
+		if (getConfig().hasMemoizedAttributes()) {
+			method.body.line("{} result = {};", type, write);
+			Util.addMemoizationEpochBumpIfNeeded(this.outerClass, method, this.field.getEnclosingElement());
+			method.body.line("return result;");
+		} else {
+			method.body.line("return {};", write);
+		}
+	}
+
+	/** @return the field updater class for our field if it should get an atomic binding, otherwise null */
+	private String getAtomicUpdaterClass() {
+		Set<Modifier> modifiers = this.field.getModifiers();
+		if (!getConfig().atomicBindings() || this.isFinal || !modifiers.contains(Modifier.VOLATILE) || modifiers.contains(Modifier.STATIC)) {
+			return null;
+		}
+		// updaters check access from our binding, which is only in the field's package if the field is declared on the bound class itself
+		if (!modifiers.contains(Modifier.PUBLIC) && this.field.getEnclosingElement() != this.outerType.getElement()) {
+			return null;
+		}
+		TypeKind kind = this.field.asType().getKind();
+		if (kind == TypeKind.INT) {
+			return "java.util.concurrent.atomic.AtomicIntegerFieldUpdater";
+		} else if (kind == TypeKind.LONG) {
+			return "java.util.concurrent.atomic.AtomicLongFieldUpdater";
+		} else if (!kind.isPrimitive() && this.property.getCastForReturnIfNeeded().length() == 0) {
+			return "java.util.concurrent.atomic.AtomicReferenceFieldUpdater";
+		}
+		return null; // other primitives have no updater, and wildcard types would need a cast on set
 	}
 
 	private void addInnerClassGetContainedTypeIfNeeded() {
@@ -179,6 +387,14 @@ public class FieldPropertyGenerator implements PropertyGenerator {
 		return this.property.getName();
 	}
 
+	public boolean isReadOnly() {
+		return this.isFinal;
+	}
+
+	public String getPropertyTypeErasure() {
+		return this.property.getErasure();
+	}
+
 	@Override
 	public String toString() {
 		return this.field.toString();
@@ -188,12 +404,13 @@ public class FieldPropertyGenerator implements PropertyGenerator {
 		private AccessorMethodGenerator.Factory accessorFactory;
 
 		@Override
-		public FieldPropertyGenerator newGenerator(GClass outerClass, Element possibleField, Collection<String> namesTaken) throws WrongGeneratorException {
+		public FieldPropertyGenerator newGenerator(GClass outerClass, BoundClass outerType, Element possibleField, Collection<String> namesTaken)
+			throws WrongGeneratorException {
 			if (possibleField.getKind() != ElementKind.FIELD) {
 				throw new WrongGeneratorException();
 			}
 			Collection<String> accessorNames = this.accessorFactory.getAccessorNames();
-			return new FieldPropertyGenerator(outerClass, possibleField, accessorNames, namesTaken);
+			return new FieldPropertyGenerator(outerClass, outerType, possibleField, accessorNames, namesTaken);
 		}
 
 		public Factory setAccessorFactory(AccessorMethodGenerator.Factory accessorFactory) {
@@ -0,0 +1,332 @@
+package org.bindgen.processor.generators;
+
+import static org.bindgen.processor.CurrentEnv.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic.Kind;
+
+import joist.sourcegen.GClass;
+import joist.sourcegen.GMethod;
+import joist.util.Inflector;
+
+import org.bindgen.FromParentBinding;
+import org.bindgen.binding.AbstractBinding;
+import org.bindgen.processor.util.BoundClass;
+import org.bindgen.processor.util.Util;
+
+/** Generates a <code>flatAB()</code> binding on a root <code>XxxBinding</code> for a configured <code>a.b</code> path.
+ *
+ * The regular <code>a().b()</code> binding evaluates each property through its parent
+ * binding's <code>get</code>, i.e. one nested virtual call per level. The flat binding
+ * instead evaluates the whole path as a single <code>root.getA().b</code> expression,
+ * except for memoized methods, which it reads through its own cache like the regular bindings do.
+ */
+public class FlatPathGenerator {
+
+	private final GClass rootClass;
+	private final TypeElement element;
+	private final String path;
+	private final String baseName;
+	/** The type after each segment, e.g. <code>com.app.Employer</code> after <code>employer</code> */
+	private final List<String> types = new ArrayList<String>();
+	/** The read of each segment, e.g. <code>.employer</code> or <code>.getEmployer()</code> */
+	private final List<String> reads = new ArrayList<String>();
+	/** Each segment's method if it is memoized, else null */
+	private final List<Element> memoized = new ArrayList<Element>();
+	/** The write of the last segment, e.g. <code>.name = {}</code>, or null if read only */
+	private String write;
+	/** The type declaring the written field or setter */
+	private Element writtenType;
+	private TypeMirror leafType;
+	private GClass innerClass;
+
+	public FlatPathGenerator(GClass rootClass, TypeElement element, String path) {
+		this.rootClass = rootClass;
+		this.element = element;
+		this.path = path;
+		String baseName = "";
+		for (String segment : path.split("\\.")) {
+			baseName += Inflector.capitalize(segment);
+		}
+		this.baseName = baseName;
+	}
+
+	/** @return whether the path resolved and its binding was generated */
+	public boolean generate() {
+		if (!this.resolve()) {
+			return false;
+		}
+		this.addRootClassField();
+		this.addRootClassGet();
+		this.addInnerClass();
+		this.addInnerClassGetName();
+		this.addInnerClassGetType();
+		this.addInnerClassGetParent();
+		this.addInnerClassMemoizedIfNeeded();
+		this.addInnerClassGet();
+		this.addInnerClassGetWithRoot();
+		this.addInnerClassGetSafely();
+		this.addInnerClassGetIsSafe();
+		this.addInnerClassGetFromParent();
+		this.addInnerClassSet();
+		this.addInnerClassSetWithRoot();
+		this.addInnerClassGetIsReadOnlyIfNeeded();
+		this.addInnerClassSerialVersionUID();
+		return true;
+	}
+
+	/** @return the name of the root binding's method for our path, e.g. <code>flatAB</code> */
+	public String getAccessorName() {
+		return "flat" + this.baseName;
+	}
+
+	private boolean resolve() {
+		DeclaredType current = (DeclaredType) this.element.asType();
+		String[] segments = this.path.split("\\.");
+		for (int i = 0; i < segments.length; i++) {
+			String segment = segments[i];
+			TypeElement currentElement = (TypeElement) current.asElement();
+			List<PropertyGenerator> generators = new ArrayList<PropertyGenerator>();
+			List<Element> members = new ArrayList<Element>();
+			// the generators are only asked for their names, and never generate, so need no class to generate into
+			BindingClassGenerator.getPropertyGenerators(null, new BoundClass(currentElement), this.element, generators, members);
+			int index = this.findReader(generators, segment);
+			if (index == -1) {
+				return this.error("no accessible property " + segment + " on " + currentElement);
+			}
+			PropertyGenerator reader = generators.get(index);
+			Element member = members.get(index);
+			TypeMirror type;
+			if (reader instanceof FieldPropertyGenerator) {
+				type = getTypeUtils().asMemberOf(current, member);
+				this.reads.add("." + member.getSimpleName());
+				this.memoized.add(null);
+				if (i == segments.length - 1 && !member.getModifiers().contains(Modifier.FINAL)) {
+					this.write = "." + member.getSimpleName() + " = {}";
+					this.writtenType = member.getEnclosingElement();
+				}
+			} else {
+				String methodName = member.getSimpleName().toString();
+				type = ((ExecutableType) getTypeUtils().asMemberOf(current, member)).getReturnType();
+				this.reads.add("." + methodName + "()");
+				// like the regular bindings, only accessors are paired with setters, not getters or no-arg methods
+				Element setter = null;
+				if (reader instanceof AccessorMethodGenerator) {
+					setter = this.findSetter(current, AccessorPrefix.guessPrefix(methodName).setterName(methodName), type);
+				}
+				if (i == segments.length - 1 && setter != null) {
+					this.write = "." + setter.getSimpleName() + "({})";
+					this.writtenType = setter.getEnclosingElement();
+				}
+				// like the regular bindings, only methods without setters are memoized
+				boolean isMemoized = setter == null && getConfig().memoizeAttribute(member.getEnclosingElement(), segment);
+				this.memoized.add(isMemoized ? member : null);
+			}
+			if (type.getKind() == TypeKind.TYPEVAR || type.getKind() == TypeKind.WILDCARD) {
+				return this.error(segment + " has an unresolved generic type " + type);
+			}
+			if (i < segments.length - 1) {
+				if (type.getKind() != TypeKind.DECLARED) {
+					return this.error("cannot navigate through " + segment + " of type " + type);
+				}
+				current = (DeclaredType) type;
+			} else {
+				this.leafType = type.getKind().isPrimitive() ? getTypeUtils().boxedClass((PrimitiveType) type).asType() : type;
+			}
+			this.types.add(type.toString());
+		}
+		return true;
+	}
+
+	/**
+	 * Uses the same generators and precedence as the regular bindings, so <code>flatAB()</code>
+	 * reads the same members as <code>a().b()</code>, e.g. <code>b()</code> over <code>getB()</code>.
+	 *
+	 * @return the index of the generator the regular bindings use for {@code name}, or -1
+	 */
+	private int findReader(List<PropertyGenerator> generators, String name) {
+		for (int i = 0; i < generators.size(); i++) {
+			PropertyGenerator generator = generators.get(i);
+			if (generator.getPropertyName().equals(name) && !(generator instanceof MethodCallableGenerator)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/** @return the one-argument setter {@code setterName} on {@code type} that accepts the accessor's {@code readType}, or null */
+	private Element findSetter(DeclaredType type, String setterName, TypeMirror readType) {
+		for (Element member : getElementUtils().getAllMembers((TypeElement) type.asElement())) {
+			if (member.getKind() == ElementKind.METHOD
+				&& member.getSimpleName().toString().equals(setterName)
+				&& ((ExecutableElement) member).getParameters().size() == 1
+				&& Util.isAccessibleIfGenerated(this.element, member)) {
+				TypeMirror paramType = ((ExecutableType) getTypeUtils().asMemberOf(type, member)).getParameterTypes().get(0);
+				if (getTypeUtils().isAssignable(readType, paramType)) {
+					return member;
+				}
+			}
+		}
+		return null;
+	}
+
+	private boolean error(String message) {
+		getMessager().printMessage(Kind.ERROR, "Cannot generate flat binding for " + this.path + ": " + message, this.element);
+		return false;
+	}
+
+	private void addRootClassField() {
+		this.rootClass.getField(this.getAccessorName()).type(Util.getLazyChildFieldType("Flat" + this.baseName + "Binding"));
+	}
+
+	/** Creates the binding on first use, like the regular child bindings, so unused flat paths cost nothing per root binding. */
+	private void addRootClassGet() {
+		String innerClassName = "Flat" + this.baseName + "Binding";
+		GMethod get = this.rootClass.getMethod(this.getAccessorName()).returnType(innerClassName);
+		Util.addLazyChildGet(this.rootClass, get, this.getAccessorName(), this.rootClass.getSimpleClassNameWithoutGeneric() + "." + innerClassName, innerClassName);
+	}
+
+	private void addInnerClass() {
+		this.innerClass = this.rootClass.getInnerClass("Flat{}Binding", this.baseName).notStatic();
+		this.innerClass.baseClassName(AbstractBinding.class.getName() + "<" + this.element.getQualifiedName() + ", " + this.leafType + ">");
+	}
+
+	private void addInnerClassGetName() {
+		GMethod getName = this.innerClass.getMethod("getName").returnType(String.class).addAnnotation("@Override");
+		getName.body.line("return \"{}\";", this.path);
+	}
+
+	private void addInnerClassGetType() {
+		GMethod getType = this.innerClass.getMethod("getType").returnType("Class<?>").addAnnotation("@Override");
+		getType.body.line("return {}.class;", getTypeUtils().erasure(this.leafType));
+	}
+
+	private void addInnerClassGetParent() {
+		GMethod getParent = this.innerClass.getMethod("getParentBinding").returnType("org.bindgen.Binding<?>").addAnnotation("@Override");
+		getParent.body.line("return {}.this;", this.rootClass.getSimpleClassNameWithoutGeneric());
+	}
+
+	/** Adds a <code>_memoizedN</code> helper for each memoized segment, which {@link #read(int, String)} then goes through. */
+	private void addInnerClassMemoizedIfNeeded() {
+		for (int i = 0; i < this.reads.size(); i++) {
+			if (this.memoized.get(i) != null) {
+				String parentType = i == 0 ? this.element.getQualifiedName().toString() : this.types.get(i - 1);
+				String type = i == this.reads.size() - 1 ? this.leafType.toString() : this.types.get(i);
+				Util.addMemoizedGet(this.rootClass, this.innerClass, String.valueOf(i), this.memoized.get(i), parentType, type, "parent" + this.reads.get(i));
+			}
+		}
+	}
+
+	private void addInnerClassGet() {
+		GMethod get = Util.addBindingMethod(this.innerClass, "get", this.element.getQualifiedName().toString(), this.leafType.toString(), null);
+		get.body.line("return {}({}.this.get());", this.self("getWithRoot"), this.rootClass.getSimpleClassNameWithoutGeneric());
+	}
+
+	private void addInnerClassGetWithRoot() {
+		GMethod getWithRoot = Util.addBindingMethod(this.innerClass, "getWithRoot", this.element.getQualifiedName().toString(), this.leafType.toString(), null);
+		getWithRoot.body.line("return {};", this.joinReads(this.reads.size()));
+	}
+
+	private void addInnerClassGetSafely() {
+		GMethod getSafely = Util.addBindingMethod(this.innerClass, "getSafely", this.element.getQualifiedName().toString(), this.leafType.toString(), null);
+		getSafely.body.line("return {}({}.this.get());", this.self("getSafelyWithRoot"), this.rootClass.getSimpleClassNameWithoutGeneric());
+		GMethod getSafelyWithRoot = Util.addBindingMethod(this.innerClass, "getSafelyWithRoot", this.element.getQualifiedName().toString(), this.leafType.toString(), null);
+		getSafelyWithRoot.body.line("{} v0 = root;", this.element.getQualifiedName());
+		for (int i = 0; i < this.reads.size() - 1; i++) {
+			getSafelyWithRoot.body.line("if (v{} == null) {", i);
+			getSafelyWithRoot.body.line("    return null;");
+			getSafelyWithRoot.body.line("}");
+			getSafelyWithRoot.body.line("{} v{} = {};", this.types.get(i), i + 1, this.read(i, "v" + i));
+		}
+		int last = this.reads.size() - 1;
+		getSafelyWithRoot.body.line("return v{} == null ? null : {};", last, this.read(last, "v" + last));
+	}
+
+	private void addInnerClassGetIsSafe() {
+		GMethod getIsSafe = this.innerClass.getMethod("getIsSafe").returnType("boolean").addAnnotation("@Override");
+		getIsSafe.body.line("{} v0 = {}.this.get();", this.element.getQualifiedName(), this.rootClass.getSimpleClassNameWithoutGeneric());
+		for (int i = 0; i < this.reads.size() - 1; i++) {
+			getIsSafe.body.line("if (v{} == null) {", i);
+			getIsSafe.body.line("    return false;");
+			getIsSafe.body.line("}");
+			getIsSafe.body.line("{} v{} = {};", this.types.get(i), i + 1, this.read(i, "v" + i));
+		}
+		getIsSafe.body.line("return v{} != null;", this.reads.size() - 1);
+	}
+
+	/** Our parent only holds the root, so read through the intermediate values safely, as each of them would be by a non-flat binding's parent. */
+	private void addInnerClassGetFromParent() {
+		this.innerClass.implementsInterface(FromParentBinding.class);
+		GMethod getFromParent = this.innerClass.getMethod("getFromParent").argument("Object", "parent");
+		getFromParent.returnType(this.leafType.toString()).addAnnotation("@Override");
+		getFromParent.body.line("return {}(({}) parent);", this.self("getSafelyWithRoot"), this.element.getQualifiedName());
+	}
+
+	private void addInnerClassGetIsReadOnlyIfNeeded() {
+		if (this.write == null) {
+			GMethod getIsReadOnly = this.innerClass.getMethod("getIsReadOnly").returnType("boolean").addAnnotation("@Override");
+			getIsReadOnly.body.line("return true;");
+		}
+	}
+
+	private void addInnerClassSet() {
+		if (this.write == null) {
+			GMethod set = this.innerClass.getMethod("set").argument(this.leafType.toString(), "value").addAnnotation("@Override");
+			set.body.line("throw new RuntimeException(this.getName() + \" is read only\");");
+			return;
+		}
+		GMethod set = Util.addBindingMethod(this.innerClass, "set", this.element.getQualifiedName().toString(), this.leafType.toString(), "value");
+		set.body.line("{}({}.this.get(), value);", this.self("setWithRoot"), this.rootClass.getSimpleClassNameWithoutGeneric());
+	}
+
+	private void addInnerClassSetWithRoot() {
+		if (this.write == null) {
+			GMethod setWithRoot = this.innerClass.getMethod("setWithRoot").addAnnotation("@Override");
+			setWithRoot.argument(this.element.getQualifiedName().toString(), "root").argument(this.leafType.toString(), "value");
+			setWithRoot.body.line("throw new RuntimeException(this.getName() + \" is read only\");");
+			return;
+		}
+		GMethod setWithRoot = Util.addBindingMethod(this.innerClass, "setWithRoot", this.element.getQualifiedName().toString(), this.leafType.toString(), "value");
+		setWithRoot.body.line("{}{};", this.joinReads(this.reads.size() - 1), this.write.replace("{}", "value"));
+		Util.addMemoizationEpochBumpIfNeeded(this.rootClass, setWithRoot, this.writtenType);
+	}
+
+	private void addInnerClassSerialVersionUID() {
+		this.innerClass.getField("serialVersionUID").type("long").setStatic().setFinal().initialValue("1L");
+	}
+
+	/** @return <code>method</code> on this binding, through its uninstrumented delegate with instrumentation, so one call is counted once */
+	private String self(String method) {
+		return "this." + (getConfig().instrumentBindings() ? "_" : "") + method;
+	}
+
+	/** @return the expression reading the first <code>count</code> segments from <code>root</code> */
+	private String joinReads(int count) {
+		String joined = "root";
+		for (int i = 0; i < count; i++) {
+			joined = this.read(i, joined);
+		}
+		return joined;
+	}
+
+	/** @return the expression reading segment <code>i</code> from <code>target</code>, through its cache if it is memoized */
+	private String read(int i, String target) {
+		if (this.memoized.get(i) != null) {
+			return "this._memoized" + i + "(" + target + ")";
+		}
+		return target + this.reads.get(i);
+	}
+
+}
@@ -1,5 +1,7 @@
 package org.bindgen.processor.generators;
 
+import static org.bindgen.processor.CurrentEnv.*;
+
 import java.util.Collection;
 
 import javax.lang.model.element.ExecutableElement;
@@ -7,14 +9,17 @@ import javax.lang.model.element.ExecutableElement;
 import joist.sourcegen.GClass;
 import joist.sourcegen.GMethod;
 
+import org.bindgen.processor.util.BoundClass;
+import org.bindgen.processor.util.Util;
+
 /**
  * Generates bindings for getter methods that do not have a corresponding setter
  *
  */
 public class GetterMethodGenerator extends AbstractMethodBindingGenerator {
 
-	public GetterMethodGenerator(GClass outerClass, ExecutableElement method, Collection<String> namesTaken) throws WrongGeneratorException {
-		super(outerClass, method, namesTaken);
+	public GetterMethodGenerator(GClass outerClass, BoundClass outerType, ExecutableElement method, Collection<String> namesTaken) throws WrongGeneratorException {
+		super(outerClass, outerType, method, namesTaken);
 	}
 
 	@Override
@@ -30,29 +35,44 @@ public class GetterMethodGenerator extends AbstractMethodBindingGenerator {
 		this.addInnerClassParent();
 		this.addInnerClassGet();
 		this.addInnerClassGetWithRoot();
+		this.addInnerClassGetSafely();
+		this.addInnerClassGetFromParent();
 		this.addInnerClassSet();
 		this.addInnerClassSetWithRoot();
+		this.addInnerClassGetIsReadOnly();
+		this.addInnerClassGetAllWithRoots();
+		this.addInnerClassPrimitiveIfNeeded(null);
 		this.addInnerClassGetContainedTypeIfNeeded();
+		this.addInnerClassMemoizedIfNeeded();
 		this.addInnerClassSerialVersionUID();
 	}
 
+	@Override
+	protected boolean isMemoized() {
+		return getConfig().memoizeAttribute(this.method.getEnclosingElement(), this.property.getName());
+	}
+
+	private void addInnerClassGetIsReadOnly() {
+		GMethod getIsReadOnly = this.innerClass.getMethod("getIsReadOnly").returnType("boolean").addAnnotation("@Override");
+		getIsReadOnly.body.line("return true;");
+	}
+
 	private void addInnerClassSet() {
-		GMethod set = this.innerClass.getMethod("set({} {})", this.property.getSetType(), this.property.getName());
-		set.addAnnotation("@Override");
+		GMethod set = Util.addBindingMethod(this.innerClass, "set", this.property.getSetType(), this.property.getName());
 		set.body.line("throw new RuntimeException(this.getName() + \" is read only\");");
 		return;
 	}
 
 	private void addInnerClassSetWithRoot() {
-		GMethod setWithRoot = this.innerClass.getMethod("setWithRoot(R root, {} {})", this.property.getSetType(), this.property.getName());
-		setWithRoot.addAnnotation("@Override");
+		GMethod setWithRoot = Util.addBindingMethod(this.innerClass, "setWithRoot", this.property.getSetType(), this.property.getName());
 		setWithRoot.body.line("throw new RuntimeException(this.getName() + \" is read only\");");
 	}
 
 	public static class Factory extends ExecutableElementGeneratorFactory {
 		@Override
-		public GetterMethodGenerator newGenerator(GClass outerClass, ExecutableElement method, Collection<String> namesTaken) throws WrongGeneratorException {
-			return new GetterMethodGenerator(outerClass, method, namesTaken);
+		public GetterMethodGenerator newGenerator(GClass outerClass, BoundClass outerType, ExecutableElement method, Collection<String> namesTaken)
+			throws WrongGeneratorException {
+			return new GetterMethodGenerator(outerClass, outerType, method, namesTaken);
 		}
 	}
 
@@ -20,8 +20,8 @@ import joist.sourcegen.GClass;
 import joist.sourcegen.GMethod;
 import joist.util.Inflector;
 
-import org.bindgen.NamedBinding;
 import org.bindgen.processor.CurrentEnv;
+import org.bindgen.processor.util.BoundClass;
 import org.bindgen.processor.util.Util;
 
 public class MethodCallableGenerator implements PropertyGenerator {
@@ -64,6 +64,7 @@ public class MethodCallableGenerator implements PropertyGenerator {
 		this.addOuterClassField();
 		this.addInnerClass();
 		this.addInnerClassMethod();
+		this.addInnerClassGetWithRoot();
 		this.addInnerClassGetName();
 		this.addInnerClassSerialVersionUID();
 	}
@@ -86,23 +87,21 @@ public class MethodCallableGenerator implements PropertyGenerator {
 	}
 
 	private void addOuterClassField() {
-		this.outerClass.getField(this.methodName).type(this.blockType.getQualifiedName().toString());
+		String type = this.blockType.getQualifiedName().toString();
+		this.outerClass.getField(this.methodName).type(Util.getLazyChildFieldType(type));
 	}
 
 	private void addOuterClassGet() {
 		GMethod get = this.outerClass.getMethod(this.methodName).returnType(this.blockType.getQualifiedName().toString());
 		get.setAccess(Util.getAccess(this.method));
-		get.body.line("if (this.{} == null) {", this.methodName);
-		get.body.line("    this.{} = new My{}Binding();", this.methodName, Inflector.capitalize(this.methodName));
-		get.body.line("}");
-		get.body.line("return this.{};", this.methodName);
+		Util.addLazyChildGet(this.outerClass, get, this.methodName, Util.erasure(this.blockType.getQualifiedName().toString()), "My" + Inflector.capitalize(this.methodName) + "Binding");
 	}
 
 	private void addInnerClass() {
 		this.innerClass = this.outerClass.getInnerClass("My{}Binding", Inflector.capitalize(this.methodName)).notStatic();
 		this.innerClass.setAccess(Util.getAccess(this.method));
 		this.innerClass.implementsInterface(this.blockType.getQualifiedName().toString());
-		this.innerClass.implementsInterface(NamedBinding.class);
+		this.innerClass.implementsInterface("org.bindgen.CallableBinding<R, " + this.blockType.getQualifiedName() + ">");
 	}
 
 	private void addInnerClassMethod() {
@@ -117,6 +116,25 @@ public class MethodCallableGenerator implements PropertyGenerator {
 		this.addMethodThrows(run);
 	}
 
+	private void addInnerClassGetWithRoot() {
+		String blockTypeName = this.blockType.getQualifiedName().toString();
+		GMethod getWithRoot = this.innerClass.getMethod("getWithRoot").argument("R", "root").returnType(blockTypeName);
+		getWithRoot.body.line("final R boundRoot = root;");
+		getWithRoot.body.line("return new {}() {", blockTypeName);
+		getWithRoot.body.line("    public {} {}({}){} {",//
+			this.blockMethod.getReturnType().toString(),
+			this.blockMethod.getSimpleName(),
+			this.getParameters(),
+			this.getThrows());
+		getWithRoot.body.line("        {}{}.this.getWithRoot(boundRoot).{}({});",//
+			this.getReturnPrefixIfNeeded(),
+			this.outerClass.getSimpleClassNameWithoutGeneric(),
+			this.methodName,
+			this.getArguments());
+		getWithRoot.body.line("    }");
+		getWithRoot.body.line("};");
+	}
+
 	private void addInnerClassGetName() {
 		GMethod getName = this.innerClass.getMethod("getName").returnType(String.class);
 		getName.body.line("return \"{}\";", this.methodName);
@@ -134,6 +152,14 @@ public class MethodCallableGenerator implements PropertyGenerator {
 		return null;
 	}
 
+	public boolean isReadOnly() {
+		return true;
+	}
+
+	public String getPropertyTypeErasure() {
+		return this.blockType.getQualifiedName().toString();
+	}
+
 	private boolean doBlockReturnTypesMatch(ExecutableElement methodToMatch) {
 		return getTypeUtils().isSameType(methodToMatch.getReturnType(), this.method.getReturnType());
 	}
@@ -184,6 +210,25 @@ public class MethodCallableGenerator implements PropertyGenerator {
 		return this.blockMethod.getReturnType().getKind() == TypeKind.VOID ? "" : "return ";
 	}
 
+	private String getParameters() {
+		String parameters = "";
+		for (VariableElement foo : this.blockMethod.getParameters()) {
+			parameters += foo.asType().toString() + " " + foo.getSimpleName().toString() + ", ";
+		}
+		if (parameters.length() > 0) {
+			parameters = parameters.substring(0, parameters.length() - 2); // remove last ", "
+		}
+		return parameters;
+	}
+
+	private String getThrows() {
+		String throwz = "";
+		for (TypeMirror type : this.method.getThrownTypes()) {
+			throwz += (throwz.length() == 0 ? " throws " : ", ") + type.toString();
+		}
+		return throwz;
+	}
+
 	private String getArguments() {
 		String arguments = "";
 		for (VariableElement foo : this.blockMethod.getParameters()) {
@@ -201,7 +246,8 @@ public class MethodCallableGenerator implements PropertyGenerator {
 
 	public static class Factory implements GeneratorFactory {
 		@Override
-		public MethodCallableGenerator newGenerator(GClass outerClass, Element possibleMethod, Collection<String> namesTaken) throws WrongGeneratorException {
+		public MethodCallableGenerator newGenerator(GClass outerClass, BoundClass outerType, Element possibleMethod, Collection<String> namesTaken)
+			throws WrongGeneratorException {
 			if (possibleMethod.getKind() != ElementKind.METHOD) {
 				throw new WrongGeneratorException();
 			}
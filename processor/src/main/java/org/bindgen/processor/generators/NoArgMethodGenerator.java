@@ -6,6 +6,8 @@ import javax.lang.model.element.ExecutableElement;
 
 import joist.sourcegen.GClass;
 
+import org.bindgen.processor.util.BoundClass;
+
 /**
  * Generates bindings for no-arg methods that return something (non void) 
  * and do not start with a specific getter prefix
@@ -13,8 +15,8 @@ import joist.sourcegen.GClass;
  */
 public class NoArgMethodGenerator extends GetterMethodGenerator {
 
-	public NoArgMethodGenerator(GClass outerClass, ExecutableElement method, Collection<String> namesTaken) throws WrongGeneratorException {
-		super(outerClass, method, namesTaken);
+	public NoArgMethodGenerator(GClass outerClass, BoundClass outerType, ExecutableElement method, Collection<String> namesTaken) throws WrongGeneratorException {
+		super(outerClass, outerType, method, namesTaken);
 	}
 
 	@Override
@@ -24,8 +26,9 @@ public class NoArgMethodGenerator extends GetterMethodGenerator {
 
 	public static class Factory extends ExecutableElementGeneratorFactory {
 		@Override
-		public NoArgMethodGenerator newGenerator(GClass outerClass, ExecutableElement method, Collection<String> namesTaken) throws WrongGeneratorException {
-			return new NoArgMethodGenerator(outerClass, method, namesTaken);
+		public NoArgMethodGenerator newGenerator(GClass outerClass, BoundClass outerType, ExecutableElement method, Collection<String> namesTaken)
+			throws WrongGeneratorException {
+			return new NoArgMethodGenerator(outerClass, outerType, method, namesTaken);
 		}
 	}
 
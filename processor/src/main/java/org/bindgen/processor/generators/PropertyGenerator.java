@@ -7,6 +7,8 @@ import javax.lang.model.element.TypeElement;
 
 import joist.sourcegen.GClass;
 
+import org.bindgen.processor.util.BoundClass;
+
 /** Common methods for property (e.g. method/field/callable) generators. */
 public interface PropertyGenerator {
 
@@ -16,6 +18,12 @@ public interface PropertyGenerator {
 	/** @return the property name, e.g. field type or method get/set type */
 	TypeElement getPropertyTypeElement();
 
+	/** @return whether the property can only be read, e.g. a final field or a getter without a setter */
+	boolean isReadOnly();
+
+	/** @return the erasure of the property type, e.g. <code>java.util.List</code> for a <code>List&lt;String&gt;</code> */
+	String getPropertyTypeErasure();
+
 	/** @return whether this binding has any sub-bindings that need to be registered */
 	boolean hasSubBindings();
 
@@ -23,6 +31,6 @@ public interface PropertyGenerator {
 	void generate();
 
 	public static interface GeneratorFactory {
-		PropertyGenerator newGenerator(GClass outerClass, Element field, Collection<String> namesTaken) throws WrongGeneratorException;
+		PropertyGenerator newGenerator(GClass outerClass, BoundClass outerType, Element field, Collection<String> namesTaken) throws WrongGeneratorException;
 	}
 }
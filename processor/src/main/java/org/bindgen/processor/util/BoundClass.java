@@ -21,6 +21,11 @@ public class BoundClass {
 		this.name = new ClassName(Util.boxIfNeeded(element.asType()).toString());
 	}
 
+	/** @return the bound type, e.g. the <code>Employee</code> element */
+	public TypeElement getElement() {
+		return this.element;
+	}
+
 	/** @return binding type, e.g. bindgen.java.lang.StringBinding, bindgen.app.EmployeeBinding */
 	public ClassName getBindingClassName() {
 		String bindingName = getConfig().baseNameForBinding(this.name) + "Binding" + this.name.getGenericPart();
@@ -51,6 +56,22 @@ public class BoundClass {
 		return this.getBindingClassName().getWithoutGenericPart() + "Path" + "<" + Join.commaSpace(typeArgs) + ">";
 	}
 
+	/** @return "com.app.Type" if the type is "com.app.Type<String, String>" */
+	public String getWithoutGenericPart() {
+		return this.name.getWithoutGenericPart();
+	}
+
+	/** @return "new com.app.Type[length]", cast to "com.app.Type<T>[]" if the type is generic */
+	public String getNewArray(String length) {
+		String newArray = "new " + this.getWithoutGenericPart() + "[" + length + "]";
+		return this.isGeneric() ? "(" + this.get() + "[]) " + newArray : newArray;
+	}
+
+	/** @return whether the type has type parameters, e.g. "com.app.Type<T>" */
+	public boolean isGeneric() {
+		return this.name.getGenericsWithBounds().size() > 0;
+	}
+
 	/** @return "com.app.Type<String, String>" if the type is "com.app.Type<String, String>" */
 	public String get() {
 		return this.name.get();
@@ -4,6 +4,7 @@ import static org.bindgen.processor.CurrentEnv.*;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
@@ -31,6 +32,7 @@ public class BoundProperty {
 	private final String propertyName;
 	private final boolean isFixingRawType;
 	private final boolean isArray;
+	private final TypeKind primitiveKind;
 	private ClassName name;
 
 	/**
@@ -42,6 +44,7 @@ public class BoundProperty {
 		this.enclosed = enclosed;
 		this.enclosing = (TypeElement) enclosed.getEnclosingElement();
 		this.isArray = type.getKind() == TypeKind.ARRAY;
+		this.primitiveKind = type.getKind().isPrimitive() ? type.getKind() : null;
 		if (this.isArray) {
 			this.type = type;
 		} else {
@@ -53,6 +56,25 @@ public class BoundProperty {
 		this.isFixingRawType = this.fixRawTypeIfNeeded();
 	}
 
+	/** @return "Int" if we're an <code>int</code>, i.e. bound by <code>IntBinding.getInt</code>, or null if there is no primitive binding */
+	public String getPrimitiveBindingName() {
+		if (this.primitiveKind == TypeKind.INT) {
+			return "Int";
+		} else if (this.primitiveKind == TypeKind.LONG) {
+			return "Long";
+		} else if (this.primitiveKind == TypeKind.DOUBLE) {
+			return "Double";
+		} else if (this.primitiveKind == TypeKind.BOOLEAN) {
+			return "Boolean";
+		}
+		return null;
+	}
+
+	/** @return "int" if we're an <code>int</code> */
+	public String getPrimitiveType() {
+		return this.primitiveKind.toString().toLowerCase(Locale.ENGLISH);
+	}
+
 	public boolean isForGenericTypeParameter() {
 		return this.isTypeParameter(this.element);
 	}
@@ -162,6 +184,11 @@ public class BoundProperty {
 		return CurrentEnv.getConfig().shouldGenerateBindingFor(this.name);
 	}
 
+	/** @return "java.util.List" if we're a <code>List&lt;String&gt;</code>, i.e. what a class literal of our type can use */
+	public String getErasure() {
+		return getTypeUtils().erasure(this.type).toString();
+	}
+
 	/** @return the type appropriate for setter/return arguments. */
 	public String getSetType() {
 		if (this.hasWildcards() && !this.isArray()) {
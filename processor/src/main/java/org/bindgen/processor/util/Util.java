@@ -2,6 +2,8 @@ package org.bindgen.processor.util;
 
 import static org.bindgen.processor.CurrentEnv.*;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 import java.util.regex.Pattern;
 
@@ -15,11 +17,14 @@ import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 
 import joist.sourcegen.Access;
+import joist.sourcegen.GClass;
+import joist.sourcegen.GMethod;
 import joist.util.Inflector;
 
 public class Util {
 
 	private static final Pattern lowerCase = Pattern.compile("^[a-z]");
+	private static final List<String> uninstrumentedGets = Arrays.asList("get", "getWithRoot", "getSafely", "getSafelyWithRoot");
 	private static final String[] javaKeywords = "abstract,continue,for,new,switch,assert,default,goto,package,synchronized,boolean,do,if,private,this,break,double,implements,protected,throw,byte,else,import,public,throws,case,enum,instanceof,return,transient,catch,extends,int,short,try,char,final,interface,static,void,class,finally,long,strictfp,volatile,const,float,native,super,while,null"
 		.split(",");
 
@@ -92,4 +97,202 @@ public class Util {
 			return Access.PACKAGE;
 		}
 	}
+
+	/**
+	 * Child bindings are created on demand, so their fields are transient, and published safely,
+	 * at least under a shared root like <code>PATHS</code>, so their fields must be volatile.
+	 *
+	 * @return the declaration of a child binding field of <code>type</code>
+	 */
+	public static String getLazyChildFieldType(String type) {
+		return "transient volatile " + type;
+	}
+
+	/**
+	 * Adds the body of <code>get</code>, which returns the child binding in <code>field</code>, creating it on first use.
+	 *
+	 * Thread-safe bindings publish the child with a static field updater of <code>outerClass</code>, and the first
+	 * child to be published wins, so every thread gets the same child without any thread waiting on a lock.
+	 *
+	 * Otherwise, children under a shared root like <code>PATHS</code> are created under the root's lock, see
+	 * {@link org.bindgen.binding.SharedBindings}, and all other bindings just create theirs.
+	 *
+	 * @param fieldClass the erasure of <code>field</code>'s type, qualified for a static context, e.g. <code>FooBindingPath.MyBarBinding</code>
+	 */
+	public static void addLazyChildGet(GClass outerClass, GMethod get, String field, String fieldClass, String instantiation) {
+		if (getConfig().threadSafeBindings()) {
+			String outer = outerClass.getSimpleClassNameWithoutGeneric();
+			String updater = "_" + field + "Updater";
+			outerClass.getField(updater).type("java.util.concurrent.atomic.AtomicReferenceFieldUpdater<" + outer + ", " + fieldClass + ">").setStatic().setFinal()
+				.initialValue("java.util.concurrent.atomic.AtomicReferenceFieldUpdater.newUpdater(" + outer + ".class, " + fieldClass + ".class, \"" + field + "\")");
+			get.body.line("if (this.{} == null) {", field);
+			get.body.line("    {}.compareAndSet(this, null, new {}());", updater, instantiation);
+			get.body.line("}");
+		} else {
+			get.body.line("if (this.{} == null) {", field);
+			get.body.line("    Object lock = org.bindgen.binding.SharedBindings.getChildLock(this);");
+			get.body.line("    if (lock == null) {");
+			get.body.line("        this.{} = new {}();", field, instantiation);
+			get.body.line("    } else {");
+			get.body.line("        synchronized (lock) {");
+			get.body.line("            if (this.{} == null) {", field);
+			get.body.line("                this.{} = new {}();", field, instantiation);
+			get.body.line("            }");
+			get.body.line("        }");
+			get.body.line("    }");
+			get.body.line("}");
+		}
+		get.body.line("return this.{};", field);
+	}
+
+	/** @return the erasure of <code>type</code>, e.g. <code>MyBarBinding</code> for <code>MyBarBinding&lt;?&gt;</code> */
+	public static String erasure(String type) {
+		int generics = type.indexOf('<');
+		return generics == -1 ? type : type.substring(0, generics);
+	}
+
+	/**
+	 * Invalidates the memoized values after a generated write, if any attribute is memoized. By default every write
+	 * invalidates every value, and with <code>memoizeWritesPerType=true</code> only the values memoized on
+	 * <code>declaringType</code>, the type declaring the written field or setter, and its subclasses.
+	 */
+	public static void addMemoizationEpochBumpIfNeeded(GClass outerClass, GMethod write, Element declaringType) {
+		if (!getConfig().hasMemoizedAttributes()) {
+			return;
+		}
+		if (!getConfig().memoizeWritesPerType()) {
+			write.body.line("org.bindgen.binding.Memoization.written();");
+			return;
+		}
+		String name = ((TypeElement) declaringType).getQualifiedName().toString();
+		String field = "_writesTo_" + name.replace('.', '_');
+		outerClass.getField(field).type("org.bindgen.binding.Memoization.Type").setStatic().setFinal()
+			.initialValue("org.bindgen.binding.Memoization.typeOf(\"" + name + "\")");
+		write.body.line("{}.written();", field);
+	}
+
+	/**
+	 * Adds a <code>_memoized</code>-style helper to <code>innerClass</code> that caches <code>read</code> per parent
+	 * in the current {@link org.bindgen.binding.Memoization} scope, until its epoch moves on or a generated binding
+	 * writes, see {@link #addMemoizationEpochBumpIfNeeded(GClass, GMethod, Element)}.
+	 *
+	 * @param suffix to tell apart several helpers in one class, e.g. <code>""</code> for <code>_memoized</code> and <code>"0"</code> for <code>_memoized0</code>
+	 * @param method the memoized method, whose bindings all share its values
+	 * @param read the expression for the value, e.g. <code>parent.getTotal()</code>
+	 */
+	public static void addMemoizedGet(GClass outerClass, GClass innerClass, String suffix, Element method, String parentType, String type, String read) {
+		TypeElement declaringType = (TypeElement) method.getEnclosingElement();
+		String name = declaringType.getQualifiedName() + "." + method.getSimpleName();
+		String key = "_memoKey_" + name.replace('.', '_');
+		outerClass.getField(key).type("org.bindgen.binding.Memoization.Key").setStatic().setFinal()
+			.initialValue("org.bindgen.binding.Memoization.keyOf(\"" + name + "\")");
+		String writes = "org.bindgen.binding.Memoization.writes()";
+		if (getConfig().memoizeWritesPerType()) {
+			String types = "_memoTypes_" + declaringType.getQualifiedName().toString().replace('.', '_');
+			String typeOfs = "";
+			for (TypeElement t = declaringType; t != null && !t.getQualifiedName().contentEquals("java.lang.Object"); t = (TypeElement) getTypeUtils().asElement(t.getSuperclass())) {
+				typeOfs += (typeOfs.length() == 0 ? "" : ", ") + "org.bindgen.binding.Memoization.typeOf(\"" + t.getQualifiedName() + "\")";
+			}
+			outerClass.getField(types).type("org.bindgen.binding.Memoization.Type[]").setStatic().setFinal()
+				.initialValue("new org.bindgen.binding.Memoization.Type[] { " + typeOfs + " }");
+			writes = "org.bindgen.binding.Memoization.writesTo(" + types + ")";
+		}
+		GMethod memoized = innerClass.getMethod("_memoized" + suffix).argument(parentType, "parent").returnType(type);
+		memoized.setPrivate().addAnnotation("@SuppressWarnings(\"unchecked\")");
+		memoized.body.line("org.bindgen.binding.Memoization scope = org.bindgen.binding.Memoization.current();");
+		memoized.body.line("int writes = {};", writes);
+		memoized.body.line("org.bindgen.binding.Memoization.Entry memo = scope.get({}, parent, writes);", key);
+		memoized.body.line("if (memo != null) {");
+		memoized.body.line("    return ({}) memo.getValue();", type);
+		memoized.body.line("}");
+		memoized.body.line("Object epoch = scope.getEpoch();");
+		memoized.body.line("{} value = {};", type, read);
+		memoized.body.line("scope.put({}, parent, value, epoch, writes);", key);
+		memoized.body.line("return value;");
+	}
+
+	/**
+	 * Adds a property binding's <code>get</code>, <code>getWithRoot</code>, <code>getSafely</code>, <code>set</code>
+	 * or <code>setWithRoot</code> method, or an unboxed one like <code>getInt</code>, with a <code>root</code> argument
+	 * for the <code>WithRoot</code> ones and <code>argName</code> for the sets.
+	 *
+	 * With <code>instrumentBindings=true</code>, the method reports each call to the installed
+	 * {@link org.bindgen.runtime.BindingMetrics} and delegates to a <code>_get</code>-style method.
+	 * The delegates of the boxed gets are protected, to override the <code>XxxBindingPath</code> ones
+	 * that child bindings read their parent through, see {@link #parentCall(GClass, String)}.
+	 *
+	 * @return the method to add the body to, which with instrumentation is the delegate
+	 */
+	public static GMethod addBindingMethod(GClass innerClass, String name, String type, String argName) {
+		return addBindingMethod(innerClass, name, "R", type, argName);
+	}
+
+	/** As {@link #addBindingMethod(GClass, String, String, String)}, with roots of type <code>rootType</code>. */
+	public static GMethod addBindingMethod(GClass innerClass, String name, String rootType, String type, String argName) {
+		boolean isSet = name.startsWith("set");
+		boolean withRoot = name.endsWith("WithRoot");
+		GMethod method = innerClass.getMethod(name).returnType(isSet ? "void" : type).addAnnotation("@Override");
+		if (withRoot) {
+			method.argument(rootType, "root");
+		}
+		if (isSet) {
+			method.argument(type, argName);
+		}
+		if (!getConfig().instrumentBindings()) {
+			return method;
+		}
+		String kind = isSet ? "Set" : "Get";
+		String call = "this._" + name + "(" + (withRoot ? "root" : "") + (withRoot && isSet ? ", " : "") + (isSet ? argName : "") + ");";
+		method.body.line("org.bindgen.runtime.BindingMetrics _metrics = org.bindgen.runtime.Instrumentation.getMetrics();");
+		method.body.line("if (_metrics == null) {");
+		method.body.line("    {}{}", isSet ? "" : "return ", call);
+		if (isSet) {
+			method.body.line("    return;");
+		}
+		method.body.line("}");
+		method.body.line("long _start = _metrics.start{}(this);", kind);
+		method.body.line("try {");
+		method.body.line("    {}{}", isSet ? "" : "return ", call);
+		method.body.line("} finally {");
+		method.body.line("    _metrics.end{}(this, _start);", kind);
+		method.body.line("}");
+		GMethod delegate = innerClass.getMethod("_" + name).returnType(isSet ? "void" : type);
+		delegate.setAccess(uninstrumentedGets.contains(name) ? Access.PROTECTED : Access.PRIVATE);
+		if (withRoot) {
+			delegate.argument(rootType, "root");
+		}
+		if (isSet) {
+			delegate.argument(type, argName);
+		}
+		return delegate;
+	}
+
+	/**
+	 * Adds the protected <code>_get</code>, <code>_getWithRoot</code>, <code>_getSafely</code> and <code>_getSafelyWithRoot</code>
+	 * to an <code>XxxBindingPath</code> with instrumentation, which its property bindings override with their uninstrumented delegates.
+	 * Roots just return their value.
+	 */
+	public static void addUninstrumentedGets(GClass pathBindingClass, String type) {
+		if (!getConfig().instrumentBindings()) {
+			return;
+		}
+		for (String name : uninstrumentedGets) {
+			GMethod get = pathBindingClass.getMethod("_" + name).returnType(type).setAccess(Access.PROTECTED);
+			if (name.endsWith("WithRoot")) {
+				get.argument("R", "root");
+				get.body.line("return this.{}(root);", name);
+			} else {
+				get.body.line("return this.{}();", name);
+			}
+		}
+	}
+
+	/**
+	 * @param call e.g. <code>get()</code> or <code>getSafelyWithRoot(root)</code>
+	 * @return the expression for a child binding to read its parent, <code>outerClass</code>, with, which with instrumentation
+	 * goes to the parent's uninstrumented delegate, so the child's call is not counted as its parent's as well
+	 */
+	public static String parentCall(GClass outerClass, String call) {
+		return outerClass.getSimpleClassNameWithoutGeneric() + ".this." + (getConfig().instrumentBindings() ? "_" : "") + call;
+	}
 }
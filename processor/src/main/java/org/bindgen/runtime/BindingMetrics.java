@@ -0,0 +1,32 @@
+package org.bindgen.runtime;
+
+import org.bindgen.Binding;
+
+/**
+ * Receives the <code>get</code>/<code>set</code> calls of bindings generated with <code>instrumentBindings=true</code>,
+ * once installed with {@link Instrumentation#setMetrics(BindingMetrics)}.
+ *
+ * Each call is bracketed by a <code>start</code> and an <code>end</code> method, so an implementation can
+ * count every call but only time a sample of them, see {@link PathMetrics}.
+ *
+ * A call is only reported for the binding it was made on: its parents are read without reporting them, so
+ * <code>employer().name().get()</code> counts one get of <code>employer.name</code> and none of <code>employer</code>.
+ * The gets include <code>getSafely</code> and the unboxed ones like <code>getInt</code>, and the sets the unboxed ones
+ * like <code>setInt</code>, of both property and flat bindings. <code>getFromParent</code>, <code>getAllWithRoots</code>,
+ * <code>setAllWithRoots</code> and the atomic methods are not reported.
+ */
+public interface BindingMetrics {
+
+	/** @return the start time of this <code>get</code>, <code>getWithRoot</code> or similar call, or -1 to not time it */
+	long startGet(Binding<?> binding);
+
+	/** @param start the value returned by {@link #startGet(Binding)} */
+	void endGet(Binding<?> binding, long start);
+
+	/** @return the start time of this <code>set</code>, <code>setWithRoot</code> or similar call, or -1 to not time it */
+	long startSet(Binding<?> binding);
+
+	/** @param start the value returned by {@link #startSet(Binding)} */
+	void endSet(Binding<?> binding, long start);
+
+}
@@ -0,0 +1,141 @@
+package org.bindgen.runtime;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.bindgen.CallableBinding;
+
+/**
+ * Invokes a method callable binding on an {@link ExecutorService}, for one root or many.
+ *
+ * The binding should be stateless, e.g. from {@code XxxBinding.PATHS}, as it is bound to each root with
+ * {@link CallableBinding#getWithRoot(Object)}. An {@link Invocation} then calls the block type's method,
+ * e.g. with the arguments for a {@code TransactionBlock}:
+ *
+ * <code>
+ *     CallableInvoker&lt;Order, TransactionBlock&gt; invoker = new CallableInvoker&lt;Order, TransactionBlock&gt;(
+ *         OrderBinding.PATHS.settle(), executor);
+ *     CallableInvoker.Results&lt;Boolean&gt; results = invoker.invokeAll(orders, new Invocation&lt;TransactionBlock, Boolean&gt;() {
+ *         public Boolean invoke(TransactionBlock block) throws Exception {
+ *             return block.result("batch");
+ *         }
+ *     });
+ * </code>
+ *
+ * For I/O-bound methods, the executor can have many more threads than cores, or on newer JVMs be
+ * a virtual thread per task executor. This uses <code>java.util.concurrent</code>, so is not GWT-compatible.
+ *
+ * @param <R> type of root object
+ * @param <B> the block type of the binding, e.g. {@link Runnable}
+ */
+public class CallableInvoker<R, B> {
+
+	private final CallableBinding<R, B> binding;
+	private final ExecutorService executor;
+
+	/**
+	 * @param binding a stateless callable binding, e.g. {@code FooBinding.PATHS.bar()}
+	 * @param executor the executor to invoke the binding on
+	 * @throws IllegalArgumentException if <code>binding</code> is not a generated callable binding
+	 */
+	@SuppressWarnings("unchecked")
+	public CallableInvoker(B binding, ExecutorService executor) {
+		if (!(binding instanceof CallableBinding<?, ?>)) {
+			throw new IllegalArgumentException(binding + " is not a callable binding");
+		}
+		this.binding = (CallableBinding<R, B>) binding;
+		this.executor = executor;
+	}
+
+	/** @return the future result of <code>invocation</code> with our binding bound to <code>root</code> */
+	public <V> Future<V> submit(final R root, final Invocation<B, V> invocation) {
+		return this.executor.submit(new Callable<V>() {
+			public V call() throws Exception {
+				return invocation.invoke(CallableInvoker.this.binding.getWithRoot(root));
+			}
+		});
+	}
+
+	/** @return the future results of <code>invocation</code> for each of <code>roots</code>, in order */
+	public <V> List<Future<V>> submitAll(List<R> roots, Invocation<B, V> invocation) {
+		List<Future<V>> futures = new ArrayList<Future<V>>(roots.size());
+		for (R root : roots) {
+			futures.add(this.submit(root, invocation));
+		}
+		return futures;
+	}
+
+	/**
+	 * Invokes <code>invocation</code> for each of <code>roots</code> and waits for all of them, so one
+	 * failing, or being cancelled, e.g. by the executor, does not stop the others.
+	 *
+	 * @return the values and exceptions of each invocation, in the order of <code>roots</code>, with a
+	 *     {@link CancellationException} for those that were cancelled
+	 */
+	public <V> Results<V> invokeAll(List<R> roots, Invocation<B, V> invocation) {
+		List<Future<V>> futures = this.submitAll(roots, invocation);
+		Results<V> results = new Results<V>(futures.size());
+		try {
+			for (Future<V> future : futures) {
+				try {
+					results.values.add(future.get());
+					results.exceptions.add(null);
+				} catch (ExecutionException ee) {
+					results.values.add(null);
+					results.exceptions.add(ee.getCause());
+					results.failures++;
+				} catch (CancellationException ce) {
+					results.values.add(null);
+					results.exceptions.add(ce);
+					results.failures++;
+				}
+			}
+		} catch (InterruptedException ie) {
+			for (Future<V> future : futures) {
+				future.cancel(true);
+			}
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(ie);
+		}
+		return results;
+	}
+
+	/** Calls a block's method, e.g. {@link Runnable#run()}, which may happen on any of the executor's threads. */
+	public static interface Invocation<B, V> {
+		V invoke(B block) throws Exception;
+	}
+
+	/** The outcome of each invocation of {@link CallableInvoker#invokeAll(List, Invocation)}. */
+	public static class Results<V> {
+		private final List<V> values;
+		private final List<Throwable> exceptions;
+		private int failures;
+
+		private Results(int size) {
+			this.values = new ArrayList<V>(size);
+			this.exceptions = new ArrayList<Throwable>(size);
+		}
+
+		/** @return each invocation's value, or <code>null</code> if it failed */
+		public List<V> getValues() {
+			return Collections.unmodifiableList(this.values);
+		}
+
+		/** @return each invocation's exception, or <code>null</code> if it succeeded */
+		public List<Throwable> getExceptions() {
+			return Collections.unmodifiableList(this.exceptions);
+		}
+
+		/** @return how many invocations threw an exception or were cancelled */
+		public int getFailureCount() {
+			return this.failures;
+		}
+	}
+
+}
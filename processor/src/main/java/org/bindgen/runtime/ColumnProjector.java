@@ -0,0 +1,387 @@
+package org.bindgen.runtime;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.bindgen.Binding;
+import org.bindgen.BindingRoot;
+import org.bindgen.BooleanBinding;
+import org.bindgen.DoubleBinding;
+import org.bindgen.IntBinding;
+import org.bindgen.LongBinding;
+
+/**
+ * Projects a list of roots onto columns of bindings, one array per column.
+ *
+ * Each column's array depends on its binding: <code>int</code>, <code>long</code>, <code>double</code>
+ * and <code>boolean</code> properties (see {@link IntBinding} etc.) fill primitive arrays without boxing,
+ * {@link String} properties are dictionary-encoded as <code>int</code> codes into a list of their distinct
+ * values, and anything else fills an <code>Object[]</code>:
+ *
+ * <code>
+ *     ColumnProjector&lt;Employee&gt; projector = new ColumnProjector&lt;Employee&gt;(columns);
+ *     ColumnProjector.Columns data = projector.project(employees, executor, 10000);
+ *     int[] departments = data.getCodes(0);
+ * </code>
+ *
+ * Large lists can be projected in chunks on an {@link ExecutorService}, with the same result as
+ * projecting them in one go. A {@code null} along a path reads as {@code null}, {@code 0}, {@code false}
+ * or code {@code -1}.
+ *
+ * A {@link ColumnProjector} only reads, so it can be shared, including across threads. This uses
+ * <code>java.nio</code> and <code>java.util.concurrent</code>, so is not GWT-compatible.
+ *
+ * @param <R> type of root object
+ */
+public class ColumnProjector<R> {
+
+	private static final int OBJECT = 0;
+	private static final int INT = 1;
+	private static final int LONG = 2;
+	private static final int DOUBLE = 3;
+	private static final int BOOLEAN = 4;
+	private static final int STRING = 5;
+	private final List<BindingRoot<R, ?>> columns;
+	private final int[] kinds;
+	/** For each column, its parent binding, or null if it is the root, to read once before each unboxed read. */
+	private final List<BindingRoot<R, ?>> parents = new ArrayList<BindingRoot<R, ?>>();
+
+	/** @param columns the bindings to project, rooted at an <code>R</code>, e.g. from {@code XxxBinding.PATHS} */
+	public ColumnProjector(List<? extends BindingRoot<R, ?>> columns) {
+		this.columns = new ArrayList<BindingRoot<R, ?>>(columns);
+		this.kinds = new int[columns.size()];
+		for (int c = 0; c < this.kinds.length; c++) {
+			BindingRoot<R, ?> column = this.columns.get(c);
+			if (column instanceof IntBinding<?>) {
+				this.kinds[c] = INT;
+			} else if (column instanceof LongBinding<?>) {
+				this.kinds[c] = LONG;
+			} else if (column instanceof DoubleBinding<?>) {
+				this.kinds[c] = DOUBLE;
+			} else if (column instanceof BooleanBinding<?>) {
+				this.kinds[c] = BOOLEAN;
+			} else if (column.getType() == String.class) {
+				this.kinds[c] = STRING;
+			} else {
+				this.kinds[c] = OBJECT;
+			}
+			this.parents.add(parentUnlessRoot(column));
+		}
+	}
+
+	/** @return the columns of <code>rows</code> */
+	public Columns project(List<R> rows) {
+		Object[] array = rows.toArray();
+		Columns columns = new Columns(this.kinds, this.columns, array.length);
+		List<List<List<String>>> dictionaries = new ArrayList<List<List<String>>>();
+		dictionaries.add(this.fill(array, 0, array.length, columns));
+		this.mergeDictionaries(columns, dictionaries, Math.max(array.length, 1));
+		return columns;
+	}
+
+	/**
+	 * @param rows the roots to project
+	 * @param executor the executor to project each chunk of rows on
+	 * @param chunkSize the number of rows in each chunk
+	 * @return the columns of <code>rows</code>, the same as {@link #project(List)} would return
+	 * @throws IllegalArgumentException if <code>chunkSize</code> is not positive
+	 */
+	public Columns project(List<R> rows, ExecutorService executor, int chunkSize) {
+		if (chunkSize < 1) {
+			throw new IllegalArgumentException("chunkSize must be positive, but was " + chunkSize);
+		}
+		final Object[] array = rows.toArray();
+		final Columns columns = new Columns(this.kinds, this.columns, array.length);
+		List<Future<List<List<String>>>> futures = new ArrayList<Future<List<List<String>>>>();
+		for (int from = 0; from < array.length; from += chunkSize) {
+			final int start = from;
+			final int end = Math.min(from + chunkSize, array.length);
+			futures.add(executor.submit(new Callable<List<List<String>>>() {
+				public List<List<String>> call() {
+					return ColumnProjector.this.fill(array, start, end, columns);
+				}
+			}));
+		}
+		List<List<List<String>>> dictionaries = new ArrayList<List<List<String>>>();
+		try {
+			for (Future<List<List<String>>> future : futures) {
+				dictionaries.add(future.get());
+			}
+		} catch (ExecutionException ee) {
+			throw ee.getCause() instanceof RuntimeException ? (RuntimeException) ee.getCause() : new RuntimeException(ee.getCause());
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(ie);
+		}
+		this.mergeDictionaries(columns, dictionaries, chunkSize);
+		return columns;
+	}
+
+	/**
+	 * Fills rows <code>from</code> to <code>to</code> of each column, a column at a time.
+	 *
+	 * @return for each column, the dictionary of this chunk's codes, or null if not a {@link String} column
+	 */
+	@SuppressWarnings("unchecked")
+	private List<List<String>> fill(Object[] rows, int from, int to, Columns columns) {
+		List<List<String>> dictionaries = new ArrayList<List<String>>();
+		for (int c = 0; c < this.kinds.length; c++) {
+			BindingRoot<R, ?> column = this.columns.get(c);
+			BindingRoot<R, ?> parent = this.parents.get(c);
+			List<String> dictionary = null;
+			switch (this.kinds[c]) {
+				case INT:
+					int[] ints = (int[]) columns.arrays[c];
+					for (int i = from; i < to; i++) {
+						Object parentValue = valueOfParent(parent, (R) rows[i]);
+						ints[i] = parentValue == null ? 0 : ((IntBinding<R>) column).getIntFromParent(parentValue);
+					}
+					break;
+				case LONG:
+					long[] longs = (long[]) columns.arrays[c];
+					for (int i = from; i < to; i++) {
+						Object parentValue = valueOfParent(parent, (R) rows[i]);
+						longs[i] = parentValue == null ? 0 : ((LongBinding<R>) column).getLongFromParent(parentValue);
+					}
+					break;
+				case DOUBLE:
+					double[] doubles = (double[]) columns.arrays[c];
+					for (int i = from; i < to; i++) {
+						Object parentValue = valueOfParent(parent, (R) rows[i]);
+						doubles[i] = parentValue == null ? 0 : ((DoubleBinding<R>) column).getDoubleFromParent(parentValue);
+					}
+					break;
+				case BOOLEAN:
+					boolean[] booleans = (boolean[]) columns.arrays[c];
+					for (int i = from; i < to; i++) {
+						Object parentValue = valueOfParent(parent, (R) rows[i]);
+						booleans[i] = parentValue != null && ((BooleanBinding<R>) column).getBooleanFromParent(parentValue);
+					}
+					break;
+				case STRING:
+					int[] codes = (int[]) columns.arrays[c];
+					Map<String, Integer> codesByValue = new HashMap<String, Integer>();
+					dictionary = new ArrayList<String>();
+					for (int i = from; i < to; i++) {
+						String value = (String) column.getSafelyWithRoot((R) rows[i]);
+						codes[i] = value == null ? -1 : code(codesByValue, dictionary, value);
+					}
+					break;
+				default:
+					Object[] objects = (Object[]) columns.arrays[c];
+					for (int i = from; i < to; i++) {
+						objects[i] = column.getSafelyWithRoot((R) rows[i]);
+					}
+			}
+			dictionaries.add(dictionary);
+		}
+		return dictionaries;
+	}
+
+	/** Re-codes each chunk's {@link String} codes from its own dictionary to one dictionary for the whole column. */
+	private void mergeDictionaries(Columns columns, List<List<List<String>>> chunkDictionaries, int chunkSize) {
+		for (int c = 0; c < this.kinds.length; c++) {
+			if (this.kinds[c] != STRING) {
+				continue;
+			}
+			int[] codes = (int[]) columns.arrays[c];
+			Map<String, Integer> codesByValue = new HashMap<String, Integer>();
+			List<String> dictionary = new ArrayList<String>();
+			for (int chunk = 0; chunk < chunkDictionaries.size(); chunk++) {
+				List<String> chunkDictionary = chunkDictionaries.get(chunk).get(c);
+				int[] recode = new int[chunkDictionary.size()];
+				for (int i = 0; i < recode.length; i++) {
+					recode[i] = code(codesByValue, dictionary, chunkDictionary.get(i));
+				}
+				int end = Math.min((chunk + 1) * chunkSize, codes.length);
+				for (int i = chunk * chunkSize; i < end; i++) {
+					if (codes[i] != -1) {
+						codes[i] = recode[codes[i]];
+					}
+				}
+			}
+			columns.dictionaries.set(c, Collections.unmodifiableList(dictionary));
+		}
+	}
+
+	private static int code(Map<String, Integer> codesByValue, List<String> dictionary, String value) {
+		Integer code = codesByValue.get(value);
+		if (code == null) {
+			code = dictionary.size();
+			codesByValue.put(value, code);
+			dictionary.add(value);
+		}
+		return code;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <R> BindingRoot<R, ?> parentUnlessRoot(BindingRoot<R, ?> binding) {
+		Binding<?> parent = binding.getParentBinding();
+		return parent == null || parent.getParentBinding() == null ? null : (BindingRoot<R, ?>) parent;
+	}
+
+	/** @return the value of <code>parent</code> for <code>root</code>, or <code>root</code> itself if the column's parent is the root */
+	private static <R> Object valueOfParent(BindingRoot<R, ?> parent, R root) {
+		return parent == null ? root : parent.getSafelyWithRoot(root);
+	}
+
+	/** The projected columns, one array per column, each as long as the projected rows. */
+	public static class Columns {
+		private final int[] kinds;
+		private final List<? extends Binding<?>> columns;
+		private final int size;
+		private final Object[] arrays;
+		private final List<List<String>> dictionaries = new ArrayList<List<String>>();
+
+		private Columns(int[] kinds, List<? extends Binding<?>> columns, int size) {
+			this.kinds = kinds;
+			this.columns = columns;
+			this.size = size;
+			this.arrays = new Object[kinds.length];
+			for (int c = 0; c < this.arrays.length; c++) {
+				switch (this.kinds[c]) {
+					case INT:
+					case STRING:
+						this.arrays[c] = new int[size];
+						break;
+					case LONG:
+						this.arrays[c] = new long[size];
+						break;
+					case DOUBLE:
+						this.arrays[c] = new double[size];
+						break;
+					case BOOLEAN:
+						this.arrays[c] = new boolean[size];
+						break;
+					default:
+						this.arrays[c] = new Object[size];
+				}
+				this.dictionaries.add(null);
+			}
+		}
+
+		/** @return the number of projected rows */
+		public int size() {
+			return this.size;
+		}
+
+		/** @return the values of an <code>int</code> column */
+		public int[] getInts(int column) {
+			return (int[]) this.getArray(column, INT);
+		}
+
+		/** @return the values of a <code>long</code> column */
+		public long[] getLongs(int column) {
+			return (long[]) this.getArray(column, LONG);
+		}
+
+		/** @return the values of a <code>double</code> column */
+		public double[] getDoubles(int column) {
+			return (double[]) this.getArray(column, DOUBLE);
+		}
+
+		/** @return the values of a <code>boolean</code> column */
+		public boolean[] getBooleans(int column) {
+			return (boolean[]) this.getArray(column, BOOLEAN);
+		}
+
+		/** @return the codes of a {@link String} column, as indexes into {@link #getDictionary(int)}, or -1 for {@code null} */
+		public int[] getCodes(int column) {
+			return (int[]) this.getArray(column, STRING);
+		}
+
+		/** @return the distinct values of a {@link String} column, in the order they first appear */
+		public List<String> getDictionary(int column) {
+			this.getArray(column, STRING);
+			return this.dictionaries.get(column);
+		}
+
+		/** @return the values of a column that is neither primitive nor a {@link String} */
+		public Object[] getObjects(int column) {
+			return (Object[]) this.getArray(column, OBJECT);
+		}
+
+		/** @return the number of bytes {@link #writeTo(ByteBuffer)} writes */
+		public int getByteSize() {
+			int bytes = 0;
+			for (int c = 0; c < this.arrays.length; c++) {
+				switch (this.kinds[c]) {
+					case INT:
+					case STRING:
+						bytes += this.size * 4;
+						break;
+					case LONG:
+					case DOUBLE:
+						bytes += this.size * 8;
+						break;
+					case BOOLEAN:
+						bytes += this.size;
+						break;
+					default:
+						throw this.notPrimitive(c);
+				}
+			}
+			return bytes;
+		}
+
+		/**
+		 * Writes each column in turn, <code>int</code>s, {@link String} codes, <code>long</code>s and
+		 * <code>double</code>s in the buffer's byte order, and <code>boolean</code>s as a byte of 0 or 1.
+		 *
+		 * Nothing is written if either exception is thrown, so <code>buffer</code> is left as it was.
+		 *
+		 * @param buffer the buffer, e.g. from {@link ByteBuffer#allocateDirect(int)}, with at least {@link #getByteSize()} remaining
+		 * @throws IllegalStateException if a column is neither primitive nor a {@link String}
+		 * @throws BufferOverflowException if <code>buffer</code> has less than {@link #getByteSize()} remaining
+		 */
+		public void writeTo(ByteBuffer buffer) {
+			// getByteSize fails for columns without a binary form, so check it before writing anything
+			if (buffer.remaining() < this.getByteSize()) {
+				throw new BufferOverflowException();
+			}
+			for (int c = 0; c < this.arrays.length; c++) {
+				switch (this.kinds[c]) {
+					case INT:
+					case STRING:
+						buffer.asIntBuffer().put((int[]) this.arrays[c]);
+						buffer.position(buffer.position() + this.size * 4);
+						break;
+					case LONG:
+						buffer.asLongBuffer().put((long[]) this.arrays[c]);
+						buffer.position(buffer.position() + this.size * 8);
+						break;
+					case DOUBLE:
+						buffer.asDoubleBuffer().put((double[]) this.arrays[c]);
+						buffer.position(buffer.position() + this.size * 8);
+						break;
+					case BOOLEAN:
+						for (boolean value : (boolean[]) this.arrays[c]) {
+							buffer.put(value ? (byte) 1 : (byte) 0);
+						}
+						break;
+				}
+			}
+		}
+
+		private Object getArray(int column, int kind) {
+			if (this.kinds[column] != kind) {
+				throw new IllegalArgumentException("Column " + column + " (" + this.columns.get(column).getPath() + ") is not of that type");
+			}
+			return this.arrays[column];
+		}
+
+		private IllegalStateException notPrimitive(int column) {
+			return new IllegalStateException("Column " + column + " (" + this.columns.get(column).getPath() + ") has no binary form");
+		}
+	}
+
+}
@@ -0,0 +1,27 @@
+package org.bindgen.runtime;
+
+/**
+ * Holds the {@link BindingMetrics} that bindings generated with <code>instrumentBindings=true</code> report to.
+ *
+ * By default there are none, and the generated <code>get</code>/<code>set</code> methods only check a static
+ * field for <code>null</code> before doing their usual work. The field is not volatile, to keep that check
+ * cheap, so install the metrics at startup, before the bindings are used from other threads.
+ */
+public class Instrumentation {
+
+	private static BindingMetrics metrics;
+
+	private Instrumentation() {
+	}
+
+	/** @return the installed metrics, or null if bindings are not being measured */
+	public static BindingMetrics getMetrics() {
+		return metrics;
+	}
+
+	/** @param metrics the metrics to report to, or null to stop measuring */
+	public static void setMetrics(BindingMetrics metrics) {
+		Instrumentation.metrics = metrics;
+	}
+
+}
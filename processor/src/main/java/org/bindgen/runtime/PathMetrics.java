@@ -0,0 +1,244 @@
+package org.bindgen.runtime;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.bindgen.Binding;
+
+/**
+ * Counts the <code>get</code>/<code>set</code> calls per binding path, e.g. {@code employer.name}, and keeps
+ * histograms of the latency of a sample of them:
+ *
+ * <code>
+ *     PathMetrics metrics = new PathMetrics(64);
+ *     Instrumentation.setMetrics(metrics);
+ *     // ...later, e.g. from a metrics endpoint...
+ *     for (Map.Entry&lt;String, PathMetrics.Snapshot&gt; e : metrics.snapshot().entrySet()) {
+ *         log(e.getKey(), e.getValue().getGets(), e.getValue().getGetPercentile(0.99));
+ *     }
+ * </code>
+ *
+ * The counters and histograms are striped by thread, with each stripe on its own cache lines, so
+ * bindings called from many threads do not contend on one counter or bucket, even when every call
+ * is timed. Latencies are kept in power-of-two buckets of nanoseconds, so percentiles are upper
+ * bounds within a factor of two.
+ *
+ * As {@link Instrumentation} holds one {@link BindingMetrics}, this can also report slow calls like
+ * {@link SlowBindingMetrics} does, with {@link #PathMetrics(long, SlowBindingMetrics.Listener)}.
+ *
+ * This uses <code>java.util.concurrent</code>, so is not GWT-compatible.
+ */
+public class PathMetrics implements BindingMetrics {
+
+	private static final int STRIPES = 16;
+	/** Longs per stripe, so that two stripes are not on the same 64-byte cache line. */
+	private static final int PAD = 8;
+	private static final int BUCKETS = 64;
+	private final ConcurrentMap<String, Stats> stats = new ConcurrentHashMap<String, Stats>();
+	private final int sampleMask;
+	private final long slowThresholdNanos;
+	private final SlowBindingMetrics.Listener slowListener;
+
+	/** Times one in 64 calls per path and stripe. */
+	public PathMetrics() {
+		this(64);
+	}
+
+	/** @param sampleEvery how many calls per path and stripe to time one of, a power of two, e.g. 1 to time every call */
+	public PathMetrics(int sampleEvery) {
+		this(sampleEvery, 0, null);
+	}
+
+	/**
+	 * Times every call, so the histograms cover all calls rather than a sample, and also reports the slow ones.
+	 *
+	 * @param slowThresholdNanos the duration at or above which a call is reported
+	 * @param slowListener the listener to report slow calls to, on the thread that made them
+	 */
+	public PathMetrics(long slowThresholdNanos, SlowBindingMetrics.Listener slowListener) {
+		this(1, slowThresholdNanos, slowListener);
+	}
+
+	private PathMetrics(int sampleEvery, long slowThresholdNanos, SlowBindingMetrics.Listener slowListener) {
+		if (sampleEvery < 1 || Integer.bitCount(sampleEvery) != 1) {
+			throw new IllegalArgumentException("sampleEvery must be a power of two, but was " + sampleEvery);
+		}
+		this.sampleMask = sampleEvery - 1;
+		this.slowThresholdNanos = slowThresholdNanos;
+		this.slowListener = slowListener;
+	}
+
+	public long startGet(Binding<?> binding) {
+		return this.start(this.getStats(binding).gets);
+	}
+
+	public void endGet(Binding<?> binding, long start) {
+		if (start != -1) {
+			long nanos = System.nanoTime() - start;
+			this.getStats(binding).getNanos.record(nanos);
+			this.reportIfSlow(binding, false, nanos);
+		}
+	}
+
+	public long startSet(Binding<?> binding) {
+		return this.start(this.getStats(binding).sets);
+	}
+
+	public void endSet(Binding<?> binding, long start) {
+		if (start != -1) {
+			long nanos = System.nanoTime() - start;
+			this.getStats(binding).setNanos.record(nanos);
+			this.reportIfSlow(binding, true, nanos);
+		}
+	}
+
+	/** @return the counts and latencies so far for each path that was called, sorted by path */
+	public Map<String, Snapshot> snapshot() {
+		Map<String, Snapshot> snapshot = new TreeMap<String, Snapshot>();
+		for (Map.Entry<String, Stats> entry : this.stats.entrySet()) {
+			Stats stats = entry.getValue();
+			snapshot.put(entry.getKey(), new Snapshot(stats.gets.sum(), stats.sets.sum(), stats.getNanos.counts(), stats.setNanos.counts()));
+		}
+		return snapshot;
+	}
+
+	private long start(Counter calls) {
+		return (calls.increment() & this.sampleMask) == 0 ? System.nanoTime() : -1;
+	}
+
+	private void reportIfSlow(Binding<?> binding, boolean isSet, long nanos) {
+		if (this.slowListener != null && nanos >= this.slowThresholdNanos) {
+			this.slowListener.onSlowBinding(new SlowBindingMetrics.SlowBinding(binding, isSet, nanos));
+		}
+	}
+
+	private Stats getStats(Binding<?> binding) {
+		String path = binding.getPath();
+		Stats stats = this.stats.get(path);
+		if (stats == null) {
+			Stats created = new Stats();
+			stats = this.stats.putIfAbsent(path, created);
+			if (stats == null) {
+				stats = created;
+			}
+		}
+		return stats;
+	}
+
+	/** @return the index of the power-of-two bucket for <code>nanos</code>, e.g. 0 for 0, 1 for 1, 2 for 2-3, 3 for 4-7 */
+	private static int bucketOf(long nanos) {
+		return nanos <= 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos));
+	}
+
+	/** The counts and sampled latencies of one path at one point in time. */
+	public static class Snapshot {
+		private final long gets;
+		private final long sets;
+		private final long[] getHistogram;
+		private final long[] setHistogram;
+
+		private Snapshot(long gets, long sets, long[] getHistogram, long[] setHistogram) {
+			this.gets = gets;
+			this.sets = sets;
+			this.getHistogram = getHistogram;
+			this.setHistogram = setHistogram;
+		}
+
+		/** @return the number of <code>get</code>/<code>getWithRoot</code> calls */
+		public long getGets() {
+			return this.gets;
+		}
+
+		/** @return the number of <code>set</code>/<code>setWithRoot</code> calls */
+		public long getSets() {
+			return this.sets;
+		}
+
+		/** @return for each bucket <code>i</code>, how many sampled gets took less than <code>2^i</code> but at least <code>2^(i-1)</code> nanoseconds */
+		public long[] getGetHistogram() {
+			return this.getHistogram.clone();
+		}
+
+		/** @return for each bucket <code>i</code>, how many sampled sets took less than <code>2^i</code> but at least <code>2^(i-1)</code> nanoseconds */
+		public long[] getSetHistogram() {
+			return this.setHistogram.clone();
+		}
+
+		/** @return the upper bound in nanoseconds of the <code>percentile</code>, e.g. 0.99, of sampled gets, or 0 if none were sampled */
+		public long getGetPercentile(double percentile) {
+			return percentileOf(this.getHistogram, percentile);
+		}
+
+		/** @return the upper bound in nanoseconds of the <code>percentile</code>, e.g. 0.99, of sampled sets, or 0 if none were sampled */
+		public long getSetPercentile(double percentile) {
+			return percentileOf(this.setHistogram, percentile);
+		}
+
+		private static long percentileOf(long[] histogram, double percentile) {
+			long total = 0;
+			for (long count : histogram) {
+				total += count;
+			}
+			long seen = 0;
+			for (int i = 0; i < histogram.length; i++) {
+				seen += histogram[i];
+				if (seen > 0 && seen >= percentile * total) {
+					return i == 0 ? 0 : (1L << i) - 1;
+				}
+			}
+			return 0;
+		}
+	}
+
+	private static class Stats {
+		private final Counter gets = new Counter();
+		private final Counter sets = new Counter();
+		private final Histogram getNanos = new Histogram();
+		private final Histogram setNanos = new Histogram();
+	}
+
+	/** @return the current thread's stripe */
+	private static int stripe() {
+		return (int) Thread.currentThread().getId() & (STRIPES - 1);
+	}
+
+	private static class Counter {
+		private final AtomicLongArray cells = new AtomicLongArray(STRIPES * PAD);
+
+		/** @return the new count of the current thread's stripe */
+		private long increment() {
+			return this.cells.incrementAndGet(stripe() * PAD);
+		}
+
+		private long sum() {
+			long sum = 0;
+			for (int i = 0; i < STRIPES; i++) {
+				sum += this.cells.get(i * PAD);
+			}
+			return sum;
+		}
+	}
+
+	/** Buckets per stripe, padded like the counters, so the last bucket of one stripe and the first of the next are not on the same cache line. */
+	private static class Histogram {
+		private final AtomicLongArray buckets = new AtomicLongArray(STRIPES * (BUCKETS + PAD));
+
+		private void record(long nanos) {
+			this.buckets.incrementAndGet(stripe() * (BUCKETS + PAD) + bucketOf(nanos));
+		}
+
+		private long[] counts() {
+			long[] counts = new long[BUCKETS];
+			for (int stripe = 0; stripe < STRIPES; stripe++) {
+				for (int i = 0; i < BUCKETS; i++) {
+					counts[i] += this.buckets.get(stripe * (BUCKETS + PAD) + i);
+				}
+			}
+			return counts;
+		}
+	}
+
+}
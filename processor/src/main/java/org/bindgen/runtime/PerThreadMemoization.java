@@ -0,0 +1,33 @@
+package org.bindgen.runtime;
+
+import org.bindgen.binding.Memoization;
+
+/**
+ * Gives each thread its own {@link Memoization} scope, so moving the epoch on in one thread, e.g. at the
+ * start of each request, only invalidates the values memoized on that thread:
+ *
+ * <code>
+ *     Memoization.setScopes(new PerThreadMemoization());
+ *     // ...then at the start of each request...
+ *     Memoization.nextEpoch();
+ * </code>
+ *
+ * Writes through generated bindings still invalidate the memoized values on every
+ * thread, but values memoized on a thread do not see other changes made by other threads until its own
+ * epoch moves on.
+ * This uses {@link ThreadLocal}, so is not GWT-compatible.
+ */
+public class PerThreadMemoization implements Memoization.Scopes {
+
+	private final ThreadLocal<Memoization> scopes = new ThreadLocal<Memoization>() {
+		@Override
+		protected Memoization initialValue() {
+			return new Memoization();
+		}
+	};
+
+	public Memoization current() {
+		return this.scopes.get();
+	}
+
+}
@@ -0,0 +1,107 @@
+package org.bindgen.runtime;
+
+import org.bindgen.Binding;
+
+/**
+ * Reports each <code>get</code>/<code>set</code> call of an instrumented binding that takes at least a threshold
+ * to a {@link Listener}, e.g. to log the slow getter chains:
+ *
+ * <code>
+ *     Instrumentation.setMetrics(new SlowBindingMetrics(TimeUnit.MILLISECONDS.toNanos(5), new SlowBindingMetrics.Listener() {
+ *         public void onSlowBinding(SlowBinding slow) {
+ *             log.warn(slow.getRootType().getSimpleName() + "." + slow.getPath() + " took " + slow.getNanos() + "ns");
+ *         }
+ *     }));
+ * </code>
+ *
+ * Every call is timed, but the {@link SlowBinding} is only created for slow ones. A binding's time includes
+ * evaluating its parents, so a slow <code>employer</code> also makes <code>employer.name</code> slow.
+ *
+ * To count the calls per path as well, use {@link PathMetrics#PathMetrics(long, Listener)} instead. To record slow
+ * calls as flight recorder events, use <code>FlightRecorderMetrics</code> from the Java 11+ <code>bindgen-jfr</code> jar,
+ * which does not read the clock while no recording is running.
+ */
+public class SlowBindingMetrics implements BindingMetrics {
+
+	private final long thresholdNanos;
+	private final Listener listener;
+
+	/**
+	 * @param thresholdNanos the duration at or above which a call is reported
+	 * @param listener the listener to report slow calls to, on the thread that made them
+	 */
+	public SlowBindingMetrics(long thresholdNanos, Listener listener) {
+		this.thresholdNanos = thresholdNanos;
+		this.listener = listener;
+	}
+
+	public long startGet(Binding<?> binding) {
+		return System.nanoTime();
+	}
+
+	public void endGet(Binding<?> binding, long start) {
+		this.end(binding, false, start);
+	}
+
+	public long startSet(Binding<?> binding) {
+		return System.nanoTime();
+	}
+
+	public void endSet(Binding<?> binding, long start) {
+		this.end(binding, true, start);
+	}
+
+	private void end(Binding<?> binding, boolean isSet, long start) {
+		long nanos = System.nanoTime() - start;
+		if (nanos >= this.thresholdNanos) {
+			this.listener.onSlowBinding(new SlowBinding(binding, isSet, nanos));
+		}
+	}
+
+	/** Receives the calls that took at least the threshold. */
+	public static interface Listener {
+		void onSlowBinding(SlowBinding slow);
+	}
+
+	/** A <code>get</code>/<code>set</code> call that took at least the threshold. */
+	public static class SlowBinding {
+		private final Binding<?> binding;
+		private final boolean isSet;
+		private final long nanos;
+
+		SlowBinding(Binding<?> binding, boolean isSet, long nanos) {
+			this.binding = binding;
+			this.isSet = isSet;
+			this.nanos = nanos;
+		}
+
+		public Binding<?> getBinding() {
+			return this.binding;
+		}
+
+		/** @return the type of the binding's root, e.g. {@code Employee} for {@code employer.name} */
+		public Class<?> getRootType() {
+			Binding<?> root = this.binding;
+			while (root.getParentBinding() != null) {
+				root = root.getParentBinding();
+			}
+			return root.getType();
+		}
+
+		/** @return the binding's path from its root, e.g. {@code employer.name} */
+		public String getPath() {
+			return this.binding.getPath();
+		}
+
+		/** @return whether the call was a <code>set</code>/<code>setWithRoot</code> rather than a <code>get</code>/<code>getWithRoot</code> */
+		public boolean getIsSet() {
+			return this.isSet;
+		}
+
+		/** @return how long the call took */
+		public long getNanos() {
+			return this.nanos;
+		}
+	}
+
+}
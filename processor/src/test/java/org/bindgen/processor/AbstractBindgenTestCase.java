@@ -97,6 +97,14 @@ public class AbstractBindgenTestCase {
 		this.aptProperties.put("bindingPathSuperClass", qualifiedClassName);
 	}
 
+	protected void setAptProperty(String key, String value) {
+		this.aptProperties.put(key, value);
+	}
+
+	protected File outputFile(String path) {
+		return new File(this.outputSub, path);
+	}
+
 	protected static String filePath(String qualifiedClassName) {
 		return qualifiedClassName.replace(".", "/") + ".java";
 	}
@@ -0,0 +1,32 @@
+package org.bindgen.processor;
+
+import static org.junit.Assert.*;
+
+import org.bindgen.AtomicBinding;
+import org.bindgen.AtomicIntBinding;
+import org.junit.Test;
+
+public class AtomicBindingsTest extends AbstractBindgenTestCase {
+
+	@Test
+	public void testVolatileFieldsAreAtomic() throws Exception {
+		this.setAptProperty("atomicBindings", "true");
+		ClassLoader loader = this.compile(filePath("org.bindgen.processor.basic.Counter"));
+
+		Class<?> pathClass = loader.loadClass("org.bindgen.processor.basic.CounterBindingPath");
+		Object binding = loader.loadClass("org.bindgen.processor.basic.CounterBinding").newInstance();
+		assertTrue(pathClass.getDeclaredField("_countUpdater") != null);
+		assertTrue(binding.getClass().getMethod("count").invoke(binding) instanceof AtomicIntBinding<?>);
+		assertTrue(binding.getClass().getMethod("state").invoke(binding) instanceof AtomicBinding<?, ?>);
+		assertFalse(binding.getClass().getMethod("plain").invoke(binding) instanceof AtomicBinding<?, ?>);
+	}
+
+	@Test
+	public void testVolatileFieldsAreNotAtomicByDefault() throws Exception {
+		ClassLoader loader = this.compile(filePath("org.bindgen.processor.basic.Counter"));
+
+		Object binding = loader.loadClass("org.bindgen.processor.basic.CounterBinding").newInstance();
+		assertFalse(binding.getClass().getMethod("count").invoke(binding) instanceof AtomicBinding<?, ?>);
+	}
+
+}
@@ -0,0 +1,120 @@
+package org.bindgen.processor;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.Field;
+
+import org.bindgen.BindingRoot;
+import org.junit.Test;
+
+public class FlatPathsTest extends AbstractBindgenTestCase {
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testFieldPath() throws Exception {
+		this.setAptProperty("flatPaths.org.bindgen.processor.basic.Person", "address.city, name");
+		ClassLoader loader = this.compile(filePath("org.bindgen.processor.basic.Address"), filePath("org.bindgen.processor.basic.Person"));
+
+		Class<?> personClass = loader.loadClass("org.bindgen.processor.basic.Person");
+		Class<?> addressClass = loader.loadClass("org.bindgen.processor.basic.Address");
+		Object person = personClass.newInstance();
+		Object binding = loader.loadClass("org.bindgen.processor.basic.PersonBinding").getConstructor(personClass).newInstance(person);
+		BindingRoot<Object, String> city = (BindingRoot<Object, String>) binding.getClass().getMethod("flatAddressCity").invoke(binding);
+
+		assertEquals("address.city", city.getPath());
+		assertEquals(String.class, city.getType());
+
+		Object address = addressClass.newInstance();
+		personClass.getField("address").set(person, address);
+		city.setWithRoot(person, "Beverly Hills");
+		assertEquals("Beverly Hills", addressClass.getField("city").get(address));
+		assertEquals("Beverly Hills", city.getWithRoot(person));
+
+		personClass.getField("address").set(person, null);
+		assertFalse(city.getIsSafe());
+		assertNull(city.getSafely());
+	}
+
+	@Test
+	public void testCreatedOnFirstUse() throws Exception {
+		this.setAptProperty("flatPaths.org.bindgen.processor.basic.Person", "address.city");
+		ClassLoader loader = this.compile(filePath("org.bindgen.processor.basic.Address"), filePath("org.bindgen.processor.basic.Person"));
+
+		Class<?> bindingClass = loader.loadClass("org.bindgen.processor.basic.PersonBinding");
+		Field field = bindingClass.getDeclaredField("flatAddressCity");
+		field.setAccessible(true);
+		Object binding = bindingClass.newInstance();
+		assertNull(field.get(binding));
+		Object city = bindingClass.getMethod("flatAddressCity").invoke(binding);
+		assertSame(city, field.get(binding));
+		assertSame(city, bindingClass.getMethod("flatAddressCity").invoke(binding));
+
+		// PATHS creates them up front, to share them across threads
+		assertNotNull(field.get(bindingClass.getField("PATHS").get(null)));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testGetterPath() throws Exception {
+		this.setAptProperty("flatPaths.org.bindgen.processor.noarg.ComplexData", "x,sumCount");
+		ClassLoader loader = this.compile(filePath("org.bindgen.processor.noarg.ComplexData"));
+
+		Class<?> dataClass = loader.loadClass("org.bindgen.processor.noarg.ComplexData");
+		Object data = dataClass.getConstructor(int.class, int.class).newInstance(1, 2);
+		Object binding = loader.loadClass("org.bindgen.processor.noarg.ComplexDataBinding").newInstance();
+
+		BindingRoot<Object, Integer> x = (BindingRoot<Object, Integer>) binding.getClass().getMethod("flatX").invoke(binding);
+		x.setWithRoot(data, 5);
+		assertEquals(Integer.valueOf(5), x.getWithRoot(data));
+
+		BindingRoot<Object, Integer> sumCount = (BindingRoot<Object, Integer>) binding.getClass().getMethod("flatSumCount").invoke(binding);
+		assertEquals(Integer.valueOf(0), sumCount.getWithRoot(data));
+		try {
+			sumCount.setWithRoot(data, 1);
+			fail();
+		} catch (RuntimeException re) {
+			assertEquals("sumCount is read only", re.getMessage());
+		}
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testSamePrecedenceAsRegularBindings() throws Exception {
+		this.setAptProperty("flatPaths.org.bindgen.processor.noarg.AccessorAndNoArg", "foobar,getBarfoo");
+		ClassLoader loader = this.compile(filePath("org.bindgen.processor.noarg.AccessorAndNoArg"));
+
+		Object data = loader.loadClass("org.bindgen.processor.noarg.AccessorAndNoArg").newInstance();
+		Object binding = loader.loadClass("org.bindgen.processor.noarg.AccessorAndNoArgBinding").newInstance();
+
+		// foobar() has the regular foobar binding, and getFoobar() is bound as getFoobar
+		BindingRoot<Object, Object> foobar = (BindingRoot<Object, Object>) binding.getClass().getMethod("flatFoobar").invoke(binding);
+		BindingRoot<Object, Object> regular = (BindingRoot<Object, Object>) binding.getClass().getMethod("foobar").invoke(binding);
+		assertEquals("unrelated to above", foobar.getWithRoot(data));
+		assertEquals(regular.getWithRoot(data), foobar.getWithRoot(data));
+		assertEquals(String.class, foobar.getType());
+
+		BindingRoot<Object, Object> getBarfoo = (BindingRoot<Object, Object>) binding.getClass().getMethod("flatGetBarfoo").invoke(binding);
+		assertEquals(Integer.valueOf(1), getBarfoo.getWithRoot(data));
+		assertFalse(getBarfoo.getIsReadOnly());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testMismatchedSettersAreReadOnly() throws Exception {
+		this.setAptProperty("flatPaths.org.bindgen.processor.noarg.MismatchedSetters", "count,label");
+		ClassLoader loader = this.compile(filePath("org.bindgen.processor.noarg.MismatchedSetters"));
+
+		Object binding = loader.loadClass("org.bindgen.processor.noarg.MismatchedSettersBinding").newInstance();
+		for (String name : new String[] { "Count", "Label" }) {
+			BindingRoot<Object, Object> flat = (BindingRoot<Object, Object>) binding.getClass().getMethod("flat" + name).invoke(binding);
+			assertTrue(flat.getIsReadOnly());
+		}
+	}
+
+	@Test(expected = CompilationErrorException.class)
+	public void testUnknownPathFails() throws Exception {
+		this.setAptProperty("flatPaths.org.bindgen.processor.basic.Person", "address.zip");
+		this.compile(filePath("org.bindgen.processor.basic.Address"), filePath("org.bindgen.processor.basic.Person"));
+	}
+
+}
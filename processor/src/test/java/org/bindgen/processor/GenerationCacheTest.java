@@ -0,0 +1,90 @@
+package org.bindgen.processor;
+
+import static org.junit.Assert.*;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Scanner;
+
+import org.junit.Test;
+
+public class GenerationCacheTest extends AbstractBindgenTestCase {
+
+	@Test
+	public void testUnchangedTypesAreSkipped() throws Exception {
+		this.setAptProperty("generationCache", "true");
+		this.compile(filePath("org.bindgen.processor.basic.Person"));
+		assertTrue(this.outputFile("bindgen-cache.properties").exists());
+
+		this.markGenerated("org/bindgen/processor/basic/PersonBinding.java");
+		this.markGenerated("org/bindgen/processor/basic/AddressBinding.java");
+		this.compile(filePath("org.bindgen.processor.basic.Person"));
+		assertTrue(this.isMarked("org/bindgen/processor/basic/PersonBinding.java"));
+		assertTrue(this.isMarked("org/bindgen/processor/basic/AddressBinding.java"));
+	}
+
+	@Test
+	public void testChangedOptionsRegenerate() throws Exception {
+		this.setAptProperty("generationCache", "true");
+		this.compile(filePath("org.bindgen.processor.basic.Person"));
+
+		this.markGenerated("org/bindgen/processor/basic/PersonBinding.java");
+		this.setAptProperty("threadSafeBindings", "true");
+		this.compile(filePath("org.bindgen.processor.basic.Person"));
+		assertFalse(this.isMarked("org/bindgen/processor/basic/PersonBinding.java"));
+	}
+
+	@Test
+	public void testChangedGeneratorRegenerates() throws Exception {
+		this.setAptProperty("generationCache", "true");
+		this.compile(filePath("org.bindgen.processor.basic.Person"));
+
+		this.markGenerated("org/bindgen/processor/basic/PersonBinding.java");
+		String version = GenerationCache.generatorVersion;
+		GenerationCache.generatorVersion = version + "-upgraded";
+		try {
+			this.compile(filePath("org.bindgen.processor.basic.Person"));
+		} finally {
+			GenerationCache.generatorVersion = version;
+		}
+		assertFalse(this.isMarked("org/bindgen/processor/basic/PersonBinding.java"));
+	}
+
+	@Test
+	public void testMissingSourcesRegenerate() throws Exception {
+		this.setAptProperty("generationCache", "true");
+		this.compile(filePath("org.bindgen.processor.basic.Person"));
+
+		this.markGenerated("org/bindgen/processor/basic/PersonBinding.java");
+		assertTrue(this.outputFile("org/bindgen/processor/basic/PersonBindingPath.java").delete());
+		ClassLoader loader = this.compile(filePath("org.bindgen.processor.basic.Person"));
+		assertFalse(this.isMarked("org/bindgen/processor/basic/PersonBinding.java"));
+		assertNotNull(loader.loadClass("org.bindgen.processor.basic.PersonBindingPath"));
+	}
+
+	@Test
+	public void testChangedFlatPathTypesRegenerate() throws Exception {
+		this.setAptProperty("generationCache", "true");
+		this.setAptProperty("flatPaths.org.bindgen.processor.basic.Person", "address.city");
+		this.compile(filePath("org.bindgen.processor.basic.Address"), filePath("org.bindgen.processor.basic.Person"));
+
+		this.markGenerated("org/bindgen/processor/basic/PersonBinding.java");
+		// Person is unchanged, but its flat address.city binding can no longer set the now final city
+		this.compile("changed/" + filePath("org.bindgen.processor.basic.Address"), filePath("org.bindgen.processor.basic.Person"));
+		assertFalse(this.isMarked("org/bindgen/processor/basic/PersonBinding.java"));
+	}
+
+	private void markGenerated(String path) throws IOException {
+		FileWriter w = new FileWriter(this.outputFile(path), true);
+		w.write("// marked\n");
+		w.close();
+	}
+
+	private boolean isMarked(String path) throws IOException {
+		Scanner s = new Scanner(this.outputFile(path)).useDelimiter("\\A");
+		String code = s.next();
+		s.close();
+		return code.contains("// marked");
+	}
+
+}
@@ -0,0 +1,30 @@
+package org.bindgen.processor;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class GenerationThreadsTest extends AbstractBindgenTestCase {
+
+	@Test
+	public void testBindingsAreWrittenByThePool() throws Exception {
+		this.setAptProperty("generationThreads", "4");
+		ClassLoader loader = this.compile(
+			filePath("org.bindgen.processor.basic.Address"),
+			filePath("org.bindgen.processor.basic.Person"),
+			filePath("org.bindgen.processor.basic.Point"));
+
+		assertNotNull(loader.loadClass("org.bindgen.processor.basic.AddressBinding"));
+		assertNotNull(loader.loadClass("org.bindgen.processor.basic.PersonBindingPath"));
+		assertNotNull(loader.loadClass("org.bindgen.processor.basic.PointBinding"));
+	}
+
+	@Test
+	public void testInvalidThreadsFallBackToTheProcessorThread() throws Exception {
+		this.setAptProperty("generationThreads", "none");
+		ClassLoader loader = this.compile(filePath("org.bindgen.processor.basic.Point"));
+
+		assertNotNull(loader.loadClass("org.bindgen.processor.basic.PointBinding"));
+	}
+
+}
@@ -0,0 +1,184 @@
+package org.bindgen.processor;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.bindgen.Binding;
+import org.bindgen.BindingRoot;
+import org.bindgen.LongBinding;
+import org.bindgen.runtime.Instrumentation;
+import org.bindgen.runtime.PathMetrics;
+import org.bindgen.runtime.SlowBindingMetrics;
+import org.bindgen.runtime.SlowBindingMetrics.SlowBinding;
+import org.junit.After;
+import org.junit.Test;
+
+public class InstrumentBindingsTest extends AbstractBindgenTestCase {
+
+	@After
+	public void uninstallMetrics() {
+		Instrumentation.setMetrics(null);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testGetsAndSetsAreCountedPerPath() throws Exception {
+		this.setAptProperty("instrumentBindings", "true");
+		ClassLoader loader = this.compile(filePath("org.bindgen.processor.basic.Address"), filePath("org.bindgen.processor.basic.Person"));
+
+		Object person = loader.loadClass("org.bindgen.processor.basic.Person").newInstance();
+		Object address = loader.loadClass("org.bindgen.processor.basic.Address").newInstance();
+		Binding<?> binding = (Binding<?>) loader.loadClass("org.bindgen.processor.basic.PersonBinding").getConstructor(person.getClass()).newInstance(person);
+		BindingRoot<Object, Object> name = (BindingRoot<Object, Object>) binding.getChildBinding("name");
+		BindingRoot<Object, Object> city = (BindingRoot<Object, Object>) binding.getChildBinding("address").getChildBinding("city");
+
+		PathMetrics metrics = new PathMetrics(1);
+		Instrumentation.setMetrics(metrics);
+		name.set("bob");
+		assertEquals("bob", name.get());
+		assertEquals("bob", name.getWithRoot(person));
+		((BindingRoot<Object, Object>) binding.getChildBinding("address")).set(address);
+		city.setWithRoot(person, "Omaha");
+		assertEquals("Omaha", city.get());
+
+		Map<String, PathMetrics.Snapshot> snapshot = metrics.snapshot();
+		assertEquals(2, snapshot.get("name").getGets());
+		assertEquals(1, snapshot.get("name").getSets());
+		// city's setWithRoot and get read their parent, address, without counting it as well
+		assertEquals(0, snapshot.get("address").getGets());
+		assertEquals(1, snapshot.get("address").getSets());
+		assertEquals(1, snapshot.get("address.city").getGets());
+		assertEquals(1, snapshot.get("address.city").getSets());
+		assertTrue(snapshot.get("name").getGetPercentile(1.0) > 0);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testSlowBindingsAreReported() throws Exception {
+		this.setAptProperty("instrumentBindings", "true");
+		ClassLoader loader = this.compile(filePath("org.bindgen.processor.basic.Address"), filePath("org.bindgen.processor.basic.Person"));
+
+		Object person = loader.loadClass("org.bindgen.processor.basic.Person").newInstance();
+		Binding<?> binding = (Binding<?>) loader.loadClass("org.bindgen.processor.basic.PersonBinding").getConstructor(person.getClass()).newInstance(person);
+		BindingRoot<Object, Object> name = (BindingRoot<Object, Object>) binding.getChildBinding("name");
+
+		final List<SlowBinding> slow = new ArrayList<SlowBinding>();
+		SlowBindingMetrics.Listener listener = new SlowBindingMetrics.Listener() {
+			public void onSlowBinding(SlowBinding binding) {
+				slow.add(binding);
+			}
+		};
+		Instrumentation.setMetrics(new SlowBindingMetrics(Long.MAX_VALUE, listener));
+		name.set("bob");
+		name.get();
+		assertEquals(0, slow.size());
+
+		Instrumentation.setMetrics(new SlowBindingMetrics(0, listener));
+		name.set("bob");
+		name.get();
+		assertEquals(2, slow.size());
+		assertTrue(slow.get(0).getIsSet());
+		assertFalse(slow.get(1).getIsSet());
+		assertEquals("name", slow.get(1).getPath());
+		assertEquals(person.getClass(), slow.get(1).getRootType());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testPathMetricsAlsoReportSlowBindings() throws Exception {
+		this.setAptProperty("instrumentBindings", "true");
+		ClassLoader loader = this.compile(filePath("org.bindgen.processor.basic.Address"), filePath("org.bindgen.processor.basic.Person"));
+
+		Object person = loader.loadClass("org.bindgen.processor.basic.Person").newInstance();
+		Binding<?> binding = (Binding<?>) loader.loadClass("org.bindgen.processor.basic.PersonBinding").getConstructor(person.getClass()).newInstance(person);
+		BindingRoot<Object, Object> name = (BindingRoot<Object, Object>) binding.getChildBinding("name");
+
+		final List<SlowBinding> slow = new ArrayList<SlowBinding>();
+		PathMetrics metrics = new PathMetrics(0, new SlowBindingMetrics.Listener() {
+			public void onSlowBinding(SlowBinding binding) {
+				slow.add(binding);
+			}
+		});
+		Instrumentation.setMetrics(metrics);
+		name.set("bob");
+		name.get();
+		name.get();
+		assertEquals(2, metrics.snapshot().get("name").getGets());
+		assertEquals(1, metrics.snapshot().get("name").getSets());
+		assertEquals(3, slow.size());
+		assertTrue(slow.get(0).getIsSet());
+		assertEquals("name", slow.get(2).getPath());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testPropertiesNamedLikeTheWrapperLocals() throws Exception {
+		this.setAptProperty("instrumentBindings", "true");
+		ClassLoader loader = this.compile(filePath("org.bindgen.processor.basic.Stopwatch"));
+
+		Object stopwatch = loader.loadClass("org.bindgen.processor.basic.Stopwatch").newInstance();
+		Binding<?> binding = (Binding<?>) loader.loadClass("org.bindgen.processor.basic.StopwatchBinding").getConstructor(stopwatch.getClass()).newInstance(stopwatch);
+		BindingRoot<Object, Object> start = (BindingRoot<Object, Object>) binding.getChildBinding("start");
+		BindingRoot<Object, Object> metrics = (BindingRoot<Object, Object>) binding.getChildBinding("metrics");
+
+		PathMetrics pathMetrics = new PathMetrics(1);
+		Instrumentation.setMetrics(pathMetrics);
+		start.setWithRoot(stopwatch, 5L);
+		metrics.setWithRoot(stopwatch, "on");
+		assertEquals(5L, start.get());
+		assertEquals("on", metrics.get());
+		assertEquals(1, pathMetrics.snapshot().get("start").getSets());
+		assertEquals(1, pathMetrics.snapshot().get("metrics").getGets());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testSafeUnboxedAndFlatCallsAreCounted() throws Exception {
+		this.setAptProperty("instrumentBindings", "true");
+		this.setAptProperty("flatPaths.org.bindgen.processor.basic.Person", "address.city");
+		ClassLoader loader = this.compile(filePath("org.bindgen.processor.basic.Address"), filePath("org.bindgen.processor.basic.Person"), filePath("org.bindgen.processor.basic.Stopwatch"));
+
+		Object stopwatch = loader.loadClass("org.bindgen.processor.basic.Stopwatch").newInstance();
+		Binding<?> binding = (Binding<?>) loader.loadClass("org.bindgen.processor.basic.StopwatchBinding").getConstructor(stopwatch.getClass()).newInstance(stopwatch);
+		LongBinding<Object> start = (LongBinding<Object>) binding.getChildBinding("start");
+		Object person = loader.loadClass("org.bindgen.processor.basic.Person").newInstance();
+		Binding<?> personBinding = (Binding<?>) loader.loadClass("org.bindgen.processor.basic.PersonBinding").getConstructor(person.getClass()).newInstance(person);
+		BindingRoot<Object, Object> city = (BindingRoot<Object, Object>) personBinding.getChildBinding("address").getChildBinding("city");
+		BindingRoot<Object, Object> flatCity = (BindingRoot<Object, Object>) personBinding.getClass().getMethod("flatAddressCity").invoke(personBinding);
+
+		PathMetrics metrics = new PathMetrics(1);
+		Instrumentation.setMetrics(metrics);
+		start.setLong(5L);
+		start.setLongWithRoot(stopwatch, 6L);
+		assertEquals(6L, start.getLong());
+		assertEquals(6L, start.getLongWithRoot(stopwatch));
+		assertEquals(Long.valueOf(6L), start.getSafely());
+		assertNull(city.getSafely());
+		assertNull(city.getSafelyWithRoot(person));
+		assertNull(flatCity.getSafely());
+
+		Map<String, PathMetrics.Snapshot> snapshot = metrics.snapshot();
+		assertEquals(3, snapshot.get("start").getGets());
+		assertEquals(2, snapshot.get("start").getSets());
+		// the flat binding's path is address.city too
+		assertEquals(3, snapshot.get("address.city").getGets());
+		assertNull(snapshot.get("address"));
+	}
+
+	@Test
+	public void testNotInstrumentedByDefault() throws Exception {
+		ClassLoader loader = this.compile(filePath("org.bindgen.processor.basic.Address"), filePath("org.bindgen.processor.basic.Person"));
+
+		Class<?> pathClass = loader.loadClass("org.bindgen.processor.basic.PersonBindingPath$MyNameBinding");
+		try {
+			pathClass.getDeclaredMethod("_get");
+			fail();
+		} catch (NoSuchMethodException nsme) {
+			// expected
+		}
+	}
+
+}
@@ -0,0 +1,166 @@
+package org.bindgen.processor;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import org.junit.Test;
+
+public class ThreadSafeBindingsTest extends AbstractBindgenTestCase {
+
+	@Test
+	public void testLazyFieldsAreVolatile() throws Exception {
+		this.setAptProperty("threadSafeBindings", "true");
+		ClassLoader loader = this.compile(filePath("org.bindgen.processor.basic.Address"), filePath("org.bindgen.processor.basic.Person"));
+
+		Class<?> pathClass = loader.loadClass("org.bindgen.processor.basic.PersonBindingPath");
+		assertTrue(Modifier.isVolatile(pathClass.getDeclaredField("address").getModifiers()));
+		assertTrue(Modifier.isVolatile(pathClass.getDeclaredField("name").getModifiers()));
+	}
+
+	@Test
+	public void testLazyFieldsAreVolatileByDefault() throws Exception {
+		ClassLoader loader = this.compile(filePath("org.bindgen.processor.basic.Address"), filePath("org.bindgen.processor.basic.Person"));
+
+		Class<?> pathClass = loader.loadClass("org.bindgen.processor.basic.PersonBindingPath");
+		assertTrue(Modifier.isVolatile(pathClass.getDeclaredField("address").getModifiers()));
+		assertTrue(Modifier.isVolatile(loader.loadClass("org.bindgen.processor.basic.AddressBindingPath").getDeclaredField("city").getModifiers()));
+	}
+
+	@Test
+	public void testPathsCreatesItsChildrenUpFront() throws Exception {
+		ClassLoader loader = this.compile(filePath("org.bindgen.processor.basic.Address"), filePath("org.bindgen.processor.basic.Person"));
+
+		Object paths = loader.loadClass("org.bindgen.processor.basic.PersonBinding").getField("PATHS").get(null);
+		Field address = loader.loadClass("org.bindgen.processor.basic.PersonBindingPath").getDeclaredField("address");
+		address.setAccessible(true);
+		assertNotNull(address.get(paths));
+		assertSame(address.get(paths), paths.getClass().getMethod("address").invoke(paths));
+	}
+
+	@Test
+	public void testConcurrentAccessToDeepPathsSeesOneBinding() throws Exception {
+		this.compile(filePath("org.bindgen.processor.basic.Address"), filePath("org.bindgen.processor.basic.Person"));
+
+		ExecutorService pool = Executors.newFixedThreadPool(2);
+		try {
+			// each loader has its own PATHS, so each round races on creating PATHS.address().city() afresh
+			for (int round = 0; round < 20; round++) {
+				ClassLoader loader = new URLClassLoader(new URL[] { this.outputFile("").toURI().toURL() }, this.getClass().getClassLoader());
+				final Object paths = loader.loadClass("org.bindgen.processor.basic.PersonBinding").getField("PATHS").get(null);
+				final Method address = paths.getClass().getMethod("address");
+				final CountDownLatch start = new CountDownLatch(1);
+				Callable<Object> get = new Callable<Object>() {
+					public Object call() throws Exception {
+						start.await();
+						Object child = address.invoke(paths);
+						return child.getClass().getMethod("city").invoke(child);
+					}
+				};
+				Future<Object> first = pool.submit(get);
+				Future<Object> second = pool.submit(get);
+				start.countDown();
+				assertSame(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testBindingsOutsidePathsDoNotLock() throws Exception {
+		ClassLoader loader = this.compile(filePath("org.bindgen.processor.basic.Address"), filePath("org.bindgen.processor.basic.Person"));
+
+		final Object binding = loader.loadClass("org.bindgen.processor.basic.PersonBinding").newInstance();
+		final Object paths = binding.getClass().getField("PATHS").get(null);
+		final Method address = binding.getClass().getMethod("address");
+		final Method getChildLock = paths.getClass().getMethod("getChildLock");
+		getChildLock.setAccessible(true);
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		try {
+			synchronized (getChildLock.invoke(paths)) {
+				Future<Object> result = pool.submit(new Callable<Object>() {
+					public Object call() throws Exception {
+						Object child = address.invoke(binding);
+						return child.getClass().getMethod("city").invoke(child);
+					}
+				});
+				assertNotNull(result.get(10, TimeUnit.SECONDS));
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testConcurrentAccessSeesOneBinding() throws Exception {
+		this.setAptProperty("threadSafeBindings", "true");
+		ClassLoader loader = this.compile(filePath("org.bindgen.processor.basic.Address"), filePath("org.bindgen.processor.basic.Person"));
+
+		final Object binding = loader.loadClass("org.bindgen.processor.basic.PersonBinding").newInstance();
+		final Method address = binding.getClass().getMethod("address");
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			Callable<Object> get = new Callable<Object>() {
+				public Object call() throws Exception {
+					return address.invoke(binding);
+				}
+			};
+			Future<?>[] results = new Future<?>[16];
+			for (int i = 0; i < results.length; i++) {
+				results[i] = pool.submit(get);
+			}
+			for (Future<?> result : results) {
+				assertSame(results[0].get(), result.get());
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testChildrenArePublishedWithoutAClassWideLock() throws Exception {
+		this.setAptProperty("threadSafeBindings", "true");
+		ClassLoader loader = this.compile(filePath("org.bindgen.processor.basic.Address"), filePath("org.bindgen.processor.basic.Person"));
+
+		Class<?> pathClass = loader.loadClass("org.bindgen.processor.basic.PersonBindingPath");
+		for (Field field : pathClass.getDeclaredFields()) {
+			assertFalse(field.getName(), Modifier.isStatic(field.getModifiers()) && field.getType() == Object.class);
+		}
+		assertEquals(AtomicReferenceFieldUpdater.class, pathClass.getDeclaredField("_addressUpdater").getType());
+	}
+
+	@Test
+	public void testLockingOnTheBindingDoesNotBlockItsChildren() throws Exception {
+		this.setAptProperty("threadSafeBindings", "true");
+		ClassLoader loader = this.compile(filePath("org.bindgen.processor.basic.Address"), filePath("org.bindgen.processor.basic.Person"));
+
+		final Object binding = loader.loadClass("org.bindgen.processor.basic.PersonBinding").newInstance();
+		final Method address = binding.getClass().getMethod("address");
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		try {
+			synchronized (binding) {
+				Future<Object> result = pool.submit(new Callable<Object>() {
+					public Object call() throws Exception {
+						return address.invoke(binding);
+					}
+				});
+				assertNotNull(result.get(10, TimeUnit.SECONDS));
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+}
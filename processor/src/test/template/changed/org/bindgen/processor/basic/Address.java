@@ -0,0 +1,8 @@
+package org.bindgen.processor.basic;
+
+import org.bindgen.Bindable;
+
+@Bindable
+public class Address {
+	public final String city = "Omaha";
+}
@@ -0,0 +1,10 @@
+package org.bindgen.processor.basic;
+
+import org.bindgen.Bindable;
+
+@Bindable
+public class Counter {
+	public volatile int count;
+	public volatile String state;
+	public int plain;
+}
@@ -0,0 +1,19 @@
+package org.bindgen.processor.basic;
+
+import org.bindgen.Bindable;
+
+@Bindable
+public class Stopwatch {
+
+	public long start;
+	private String metrics;
+
+	public String getMetrics() {
+		return this.metrics;
+	}
+
+	public void setMetrics(String metrics) {
+		this.metrics = metrics;
+	}
+
+}
@@ -0,0 +1,24 @@
+package org.bindgen.processor.noarg;
+
+import org.bindgen.Bindable;
+
+@Bindable
+public class MismatchedSetters {
+
+	// the setter does not take what the getter returns
+	public int getCount() {
+		return 0;
+	}
+
+	public void setCount(String count) {
+	}
+
+	// a no-arg method is not paired with the setter
+	public String label() {
+		return "label";
+	}
+
+	public void setLabel(String label) {
+	}
+
+}
@@ -0,0 +1,19 @@
+package org.bindgen.processor.outofscope;
+
+public class Address {
+	public final String country = "US";
+	public String street;
+	private String city;
+
+	public String getZip() {
+		return "68102";
+	}
+
+	public String getCity() {
+		return this.city;
+	}
+
+	public void setCity(String city) {
+		this.city = city;
+	}
+}
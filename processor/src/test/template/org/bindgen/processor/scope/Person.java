@@ -0,0 +1,9 @@
+package org.bindgen.processor.scope;
+
+import org.bindgen.Bindable;
+import org.bindgen.processor.outofscope.Address;
+
+@Bindable
+public class Person {
+	public Address address;
+}